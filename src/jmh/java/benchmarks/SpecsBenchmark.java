@@ -0,0 +1,49 @@
+package benchmarks;
+
+import io.restassured.builder.ResponseSpecBuilder;
+import io.restassured.filter.log.LogDetail;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+import org.openjdk.jmh.annotations.*;
+import specs.DemoqaSpecs;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecsBenchmark {
+
+    @Benchmark
+    public RequestSpecification withBodyRequestSpec() {
+        return DemoqaSpecs.withBodyRequestSpec();
+    }
+
+    @Benchmark
+    public RequestSpecification noBodyRequestSpec() {
+        return DemoqaSpecs.noBodyRequestSpec();
+    }
+
+    @Benchmark
+    public ResponseSpecification responseSpecByStatusCode() {
+        return DemoqaSpecs.getResponseSpecByStatusCode(200);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ResponseSpecification sharedResponseSpecParallel() {
+        return DemoqaSpecs.getResponseSpecByStatusCode(200);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ResponseSpecification builtResponseSpecParallel() {
+        return new ResponseSpecBuilder()
+                .expectStatusCode(200)
+                .log(LogDetail.ALL)
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import utils.TestData;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestDataBenchmark {
+    private final TestData testData = new TestData();
+
+    @Benchmark
+    public String userName() {
+        return testData.getUserName();
+    }
+
+    @Benchmark
+    public String password() {
+        return testData.getPassword();
+    }
+
+    @Benchmark
+    public String randomString() {
+        return testData.getRandomString(10);
+    }
+
+    @Benchmark
+    public String randomUUID() {
+        return testData.getRandomUUID();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String userNameParallel() {
+        return testData.getUserName();
+    }
+}
\ No newline at end of file
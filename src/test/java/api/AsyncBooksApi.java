@@ -0,0 +1,40 @@
+package api;
+
+import models.AddBooksRequestModel;
+import models.BookModel;
+import models.BooksModel;
+import models.IsbnModel;
+import models.UserBooksModel;
+
+import java.net.URLEncoder;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class AsyncBooksApi {
+
+    public static CompletableFuture<BooksModel> getAllBooks() {
+        return AsyncHttp.send("GET", "/BookStore/v1/Books", null, null, null, 200)
+                .thenApply(AsyncHttp.as(BooksModel.class));
+    }
+
+    public static CompletableFuture<Void> addBooks(String userId, String token, List<IsbnModel> isbn) {
+        AddBooksRequestModel request = new AddBooksRequestModel();
+        request.setUserId(userId);
+        request.setCollectionOfIsbns(isbn);
+        return AsyncHttp.send("POST", "/BookStore/v1/Books", null, token, request, 201)
+                .thenApply(body -> null);
+    }
+
+    public static CompletableFuture<List<BookModel>> getUserBooks(String userId, String token) {
+        return AsyncHttp.send("GET", "/Account/v1/User/" + userId, null, token, null, 200)
+                .thenApply(AsyncHttp.as(UserBooksModel.class))
+                .thenApply(UserBooksModel::getBooks);
+    }
+
+    public static CompletableFuture<Void> deleteAllBooks(String userId, String token) {
+        return AsyncHttp.send("DELETE", "/BookStore/v1/Books", "UserId=" + URLEncoder.encode(userId, UTF_8), token, null, 204)
+                .thenApply(body -> null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import helpers.Cassette;
+import helpers.HttpStatusException;
+import helpers.JdkHttpClient;
+import helpers.JsonSchemaCache;
+import helpers.LatencyRegistry;
+import helpers.RateLimiter;
+import models.ErrorResponseModel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static specs.DemoqaSpecs.BASE_URI;
+
+class AsyncHttp {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    static CompletableFuture<byte[]> send(String method, String path, String query, String token,
+                                          Object body, int expectedStatus) {
+        return send(BASE_URI, method, path, query, token, body, expectedStatus);
+    }
+
+    static CompletableFuture<byte[]> send(String baseUri, String method, String path, String query, String token,
+                                          Object body, int expectedStatus) {
+        byte[] json = body == null ? null : toJson(body);
+        String cassetteKey = null;
+        Map<String, String> bindings = null;
+        if (Cassette.isRecording() || Cassette.isReplaying()) {
+            String text = json == null ? null : new String(json, UTF_8);
+            cassetteKey = Cassette.key(method, path, query, text, false);
+            bindings = Cassette.bindings(path, query, text);
+        }
+        if (Cassette.isReplaying()) {
+            return CompletableFuture.completedFuture(Cassette.replay(cassetteKey, bindings))
+                    .thenApply(entry -> check(method, path, expectedStatus, entry.status, entry.body));
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUri + path + (query == null ? "" : "?" + query)))
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (json != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(json));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        String recordKey = Cassette.isRecording() ? cassetteKey : null;
+        Map<String, String> recordBindings = bindings;
+        HttpRequest built = request.build();
+        // the rate limit slot is reserved first and waited out without blocking anyone, the in-flight permit
+        // is only taken once the slot is due, so a request waiting for its slot does not hold a permit
+        long delay = RateLimiter.reserve(path);
+        Executor slotExecutor = delay > 0 ? CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS) : Runnable::run;
+        return CompletableFuture.runAsync(() -> {
+                }, slotExecutor)
+                .thenCompose(ignored -> RateLimiter.acquireInFlightAsync())
+                .thenCompose(ignored -> {
+                    long start = System.nanoTime();
+                    CompletableFuture<HttpResponse<byte[]>> sent;
+                    try {
+                        sent = JdkHttpClient.get().sendAsync(built, HttpResponse.BodyHandlers.ofByteArray());
+                    } catch (RuntimeException e) {
+                        sent = CompletableFuture.failedFuture(e);
+                    }
+                    return sent.whenComplete((response, error) -> RateLimiter.release())
+                            .thenApply(response -> {
+                                LatencyRegistry.record(method, path, System.nanoTime() - start);
+                                if (recordKey != null) {
+                                    Map<String, String> headers = new LinkedHashMap<>();
+                                    response.headers().map().forEach((name, values) -> headers.put(name, values.get(0)));
+                                    Cassette.record(recordKey, recordBindings, response.statusCode(), headers, response.body());
+                                }
+                                return check(method, path, expectedStatus, response.statusCode(), response.body());
+                            });
+                });
+    }
+
+    // the same schema check the REST Assured response specs apply, against the same cached schemas
+    static <T> Function<byte[], T> as(Class<T> type) {
+        JsonSchema schema = JsonSchemaCache.getSchema(type);
+        return body -> {
+            try {
+                JsonNode json = MAPPER.readTree(body);
+                ProcessingReport report = schema.validate(json);
+                if (!report.isSuccess()) {
+                    throw new IllegalStateException("Response does not match JSON schema of " + type.getSimpleName() + ": " + report);
+                }
+                return MAPPER.treeToValue(json, type);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (ProcessingException e) {
+                throw new IllegalStateException("Response could not be validated against JSON schema of " + type.getSimpleName(), e);
+            }
+        };
+    }
+
+    // true when the call failed with the given status and the error code of an ErrorResponseModel body
+    static boolean isErrorReply(Throwable error, int status, String code) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        if (!(cause instanceof HttpStatusException) || ((HttpStatusException) cause).getStatus() != status) {
+            return false;
+        }
+        try {
+            return code.equals(MAPPER.readValue(((HttpStatusException) cause).getBody(), ErrorResponseModel.class).getCode());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static byte[] check(String method, String path, int expectedStatus, int status, byte[] body) {
+        if (status != expectedStatus) {
+            throw new HttpStatusException(method, path, expectedStatus, status, new String(body, UTF_8));
+        }
+        return body;
+    }
+
+    private static byte[] toJson(Object body) {
+        try {
+            return MAPPER.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
\ No newline at end of file
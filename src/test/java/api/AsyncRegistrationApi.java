@@ -0,0 +1,69 @@
+package api;
+
+import helpers.UserLedger;
+import models.GenerateTokenResponseModel;
+import models.LoginRequestModel;
+import models.RegistrationResponseModel;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static specs.DemoqaSpecs.BASE_URI;
+
+public class AsyncRegistrationApi {
+
+    public static CompletableFuture<RegistrationResponseModel> registerUser(String userName, String password) {
+        return AsyncHttp.send("POST", "/Account/v1/User", null, null, new LoginRequestModel(userName, password), 201)
+                .thenApply(AsyncHttp.as(RegistrationResponseModel.class))
+                .thenApply(response -> {
+                    if (UserLedger.isEnabled()) {
+                        UserLedger.current().created(BASE_URI, response.getUserId(), userName, password);
+                    }
+                    return response;
+                });
+    }
+
+    public static CompletableFuture<GenerateTokenResponseModel> generateToken(String userName, String password) {
+        return generateToken(BASE_URI, userName, password);
+    }
+
+    public static CompletableFuture<GenerateTokenResponseModel> generateToken(String baseUrl, String userName, String password) {
+        return AsyncHttp.send(baseUrl, "POST", "/Account/v1/GenerateToken", null, null, new LoginRequestModel(userName, password), 200)
+                .thenApply(AsyncHttp.as(GenerateTokenResponseModel.class));
+    }
+
+    public static CompletableFuture<Void> deleteUser(String userId, String userName, String password, String token) {
+        return deleteUser(BASE_URI, userId, userName, password, token);
+    }
+
+    // A failed delete counts as done only when the site confirms the user is gone: Authorized answers 404/1207
+    // for its credentials, for example after an earlier attempt whose response was lost. The delete's own
+    // 200/1207 means the id and token do not belong together and fails the call like any other error.
+    public static CompletableFuture<Void> deleteUser(String baseUrl, String userId, String userName, String password, String token) {
+        return deleteUser(baseUrl, userId, userName, password, token, UserLedger.isEnabled() ? UserLedger.current() : null);
+    }
+
+    // records the deletion in the given ledger, or nowhere when it is null
+    public static CompletableFuture<Void> deleteUser(String baseUrl, String userId, String userName, String password, String token,
+                                                     UserLedger ledger) {
+        return AsyncHttp.send(baseUrl, "DELETE", "/Account/v1/User/" + userId, null, token, null, 204)
+                .<Void>thenApply(body -> null)
+                .exceptionallyCompose(error -> isGone(baseUrl, userName, password).thenApply(gone -> {
+                    if (!gone) {
+                        throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+                    }
+                    return null;
+                }))
+                .thenApply(ignored -> {
+                    if (ledger != null) {
+                        ledger.deleted(userId);
+                    }
+                    return null;
+                });
+    }
+
+    private static CompletableFuture<Boolean> isGone(String baseUrl, String userName, String password) {
+        return AsyncHttp.send(baseUrl, "POST", "/Account/v1/Authorized", null, null, new LoginRequestModel(userName, password), 200)
+                .handle((body, error) -> error != null && AsyncHttp.isErrorReply(error, 404, "1207"));
+    }
+}
\ No newline at end of file
@@ -1,29 +1,50 @@
 package api;
 
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 import models.*;
 
 import java.util.List;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.equalTo;
 import static specs.DemoqaSpecs.*;
 
 public class BooksApi {
 
     public static BooksModel getAllBooks() {
         return
-                given(noBodyRequestSpec)
+                given(noBodyRequestSpec())
                         .when()
                         .get("/BookStore/v1/Books")
                         .then()
-                        .spec(getResponseSpecByStatusCode(200))
+                        .spec(getResponseSpecByStatusCode(200, BooksModel.class))
                         .extract().as(BooksModel.class);
     }
 
+    public static ExtractableResponse<Response> getAllBooksIfModified(String eTag, String lastModified) {
+        RequestSpecification request = given(noBodyRequestSpec());
+        if (eTag != null) {
+            request.header("If-None-Match", eTag);
+        }
+        if (lastModified != null) {
+            request.header("If-Modified-Since", lastModified);
+        }
+        return
+                request.when()
+                        .get("/BookStore/v1/Books")
+                        .then()
+                        .spec(getResponseSpecByStatusCode(anyOf(equalTo(200), equalTo(304))))
+                        .extract();
+    }
+
     public static void addBooks(String userId, String token, List<IsbnModel> isbn) {
         AddBooksRequestModel request = new AddBooksRequestModel();
         request.setUserId(userId);
         request.setCollectionOfIsbns(isbn);
-        given(withBodyRequestSpec)
+        given(withBodyRequestSpec())
                 .body(request)
                 .header("Authorization", "Bearer " + token)
                 .when()
@@ -34,12 +55,22 @@ public class BooksApi {
 
     public static List<BookModel> getUserBooks(String userId, String token) {
         return
-                given(noBodyRequestSpec)
+                given(noBodyRequestSpec())
                         .header("Authorization", "Bearer " + token)
                         .when()
                         .get("/Account/v1/User/" + userId)
                         .then()
-                        .spec(getResponseSpecByStatusCode(200))
+                        .spec(getResponseSpecByStatusCode(200, UserBooksModel.class))
                         .extract().as(UserBooksModel.class).getBooks();
     }
+
+    public static void deleteAllBooks(String userId, String token) {
+        given(noBodyRequestSpec())
+                .param("UserId", userId)
+                .header("Authorization", "Bearer " + token)
+                .when()
+                .delete("/BookStore/v1/Books")
+                .then()
+                .spec(getResponseSpecByStatusCode(204));
+    }
 }
\ No newline at end of file
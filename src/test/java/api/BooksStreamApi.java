@@ -0,0 +1,171 @@
+package api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import helpers.JdkHttpClient;
+import helpers.LatencyRegistry;
+import helpers.RateLimiter;
+import models.BookModel;
+import models.BookTitleModel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static specs.DemoqaSpecs.BASE_URI;
+
+// reads the catalog token by token straight from the socket: only the current book is held in memory,
+// fields the target type does not need are skipped without creating strings,
+// and the consumer stops the stream by returning false. It bypasses REST Assured and so the cassette:
+// the tests using it are not part of a cassette replay
+public class BooksStreamApi {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final URI BOOKS_URI = URI.create(BASE_URI + "/BookStore/v1/Books");
+
+    public static void forEachBook(Predicate<? super BookModel> consumer) {
+        stream(BookModel::new, BooksStreamApi::readBookField, consumer);
+    }
+
+    public static void forEachBookTitle(Predicate<? super BookTitleModel> consumer) {
+        stream(BookTitleModel::new, BooksStreamApi::readTitleField, consumer);
+    }
+
+    // parses a catalog body that has already been fetched, such as the cassette-backed one BookCatalog loads
+    public static void readBooks(InputStream body, Predicate<? super BookModel> consumer) {
+        try {
+            read(body, BookModel::new, BooksStreamApi::readBookField, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> void stream(Supplier<T> factory, FieldReader<T> reader, Predicate<? super T> consumer) {
+        HttpRequest request = HttpRequest.newBuilder(BOOKS_URI)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        // the in-flight permit is held until the body is read or abandoned
+        RateLimiter.acquire(BOOKS_URI.getPath());
+        try {
+            HttpResponse<InputStream> response = send(request);
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("GET /BookStore/v1/Books returned " + response.statusCode());
+                }
+                read(body, factory, reader, consumer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            RateLimiter.release();
+        }
+    }
+
+    private static <T> void read(InputStream body, Supplier<T> factory, FieldReader<T> reader,
+                                 Predicate<? super T> consumer) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (!moveToBooksArray(parser)) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                T book = factory.get();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if (!reader.read(book, field, parser)) {
+                        parser.skipChildren();
+                    }
+                }
+                if (!consumer.test(book)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static HttpResponse<InputStream> send(HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            return JdkHttpClient.get().send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            LatencyRegistry.record("GET", BOOKS_URI.getPath(), System.nanoTime() - start);
+        }
+    }
+
+    private static boolean moveToBooksArray(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && "books".equals(field)) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static boolean readBookField(BookModel book, String field, JsonParser parser) throws IOException {
+        switch (field) {
+            case "isbn":
+                book.setIsbn(parser.getValueAsString());
+                return true;
+            case "title":
+                book.setTitle(parser.getValueAsString());
+                return true;
+            case "subTitle":
+                book.setSubTitle(parser.getValueAsString());
+                return true;
+            case "author":
+                book.setAuthor(parser.getValueAsString());
+                return true;
+            case "publish_date":
+                book.setPublishDate(parser.getValueAsString());
+                return true;
+            case "publisher":
+                book.setPublisher(parser.getValueAsString());
+                return true;
+            case "pages":
+                book.setPages(parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsInt());
+                return true;
+            case "description":
+                book.setDescription(parser.getValueAsString());
+                return true;
+            case "website":
+                book.setWebsite(parser.getValueAsString());
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean readTitleField(BookTitleModel book, String field, JsonParser parser) throws IOException {
+        switch (field) {
+            case "isbn":
+                book.setIsbn(parser.getValueAsString());
+                return true;
+            case "title":
+                book.setTitle(parser.getValueAsString());
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface FieldReader<T> {
+        boolean read(T target, String field, JsonParser parser) throws IOException;
+    }
+}
\ No newline at end of file
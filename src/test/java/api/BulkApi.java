@@ -0,0 +1,27 @@
+package api;
+
+import helpers.BatchExecutor;
+import helpers.BatchResult;
+import models.IsbnModel;
+import models.TestUserModel;
+
+import java.util.Collection;
+import java.util.List;
+
+public class BulkApi {
+
+    public static BatchResult<TestUserModel> addBooks(Collection<TestUserModel> users, List<IsbnModel> isbn) {
+        return BatchExecutor.run(users, false, user ->
+                AsyncBooksApi.addBooks(user.getUserId(), user.getToken(), isbn));
+    }
+
+    public static BatchResult<TestUserModel> deleteAllBooks(Collection<TestUserModel> users) {
+        return BatchExecutor.run(users, true, user ->
+                AsyncBooksApi.deleteAllBooks(user.getUserId(), user.getToken()));
+    }
+
+    public static BatchResult<TestUserModel> deleteUsers(Collection<TestUserModel> users) {
+        return BatchExecutor.run(users, true, user ->
+                AsyncRegistrationApi.deleteUser(user.getUserId(), user.getUserName(), user.getPassword(), user.getToken()));
+    }
+}
\ No newline at end of file
@@ -11,28 +11,28 @@ public class RegistrationApi {
 
     public static RegistrationResponseModel registerUser(String userName, String password) {
         return
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(new LoginRequestModel(userName, password))
                         .when()
                         .post("/Account/v1/User")
                         .then()
-                        .spec(getResponseSpecByStatusCode(201))
+                        .spec(getResponseSpecByStatusCode(201, RegistrationResponseModel.class))
                         .extract().as(RegistrationResponseModel.class);
     }
 
     public static GenerateTokenResponseModel generateToken(String userName, String password) {
         return
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(new LoginRequestModel(userName, password))
                         .when()
                         .post("/Account/v1/GenerateToken")
                         .then()
-                        .spec(getResponseSpecByStatusCode(200))
+                        .spec(getResponseSpecByStatusCode(200, GenerateTokenResponseModel.class))
                         .extract().as(GenerateTokenResponseModel.class);
     }
 
     public static void deleteUser(String userId, String token) {
-        given(noBodyRequestSpec)
+        given(noBodyRequestSpec())
                 .header("Authorization", "Bearer " + token)
                 .when()
                 .delete("/Account/v1/User/" + userId)
@@ -0,0 +1,388 @@
+package emulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import emulator.EmulatorStorage.Token;
+import emulator.EmulatorStorage.User;
+import models.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class DemoqaEmulator {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+    private static final Pattern PASSWORD_POLICY = Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[^a-zA-Z\\d]).{8,}$");
+    private static final String USER_PATH = "/Account/v1/User/";
+    // fault injection for exercising the client's retries and circuit breaker: a share of requests
+    // is answered with emulator.faults.status, another share gets its connection dropped without a response
+    private static final double FAULT_RATE = Double.parseDouble(System.getProperty("emulator.faults.rate", "0"));
+    private static final int FAULT_STATUS = Integer.getInteger("emulator.faults.status", 503);
+    private static final double RESET_RATE = Double.parseDouble(System.getProperty("emulator.faults.resetRate", "0"));
+
+    private static DemoqaEmulator instance;
+
+    private final EmulatorStorage storage = new EmulatorStorage(MAPPER);
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private DemoqaEmulator(int port, int threads) throws IOException {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "demoqa-emulator-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static synchronized String start() {
+        if (instance == null) {
+            try {
+                instance = new DemoqaEmulator(Integer.getInteger("emulator.port", 0),
+                        Integer.getInteger("emulator.threads", Runtime.getRuntime().availableProcessors() * 2));
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to start Demoqa emulator", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::stop));
+        }
+        return instance.getBaseUrl();
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        double fault = ThreadLocalRandom.current().nextDouble();
+        if (fault < RESET_RATE) {
+            exchange.close();
+            return;
+        }
+        Reply reply;
+        try {
+            reply = fault < RESET_RATE + FAULT_RATE
+                    ? error(FAULT_STATUS, String.valueOf(FAULT_STATUS), "Injected fault")
+                    : route(exchange);
+        } catch (Exception e) {
+            reply = error(500, "500", e.toString());
+        }
+        try {
+            reply.headers.forEach(exchange.getResponseHeaders()::set);
+            if (reply.body == null) {
+                exchange.sendResponseHeaders(reply.status, -1);
+            } else {
+                byte[] body = MAPPER.writeValueAsBytes(reply.body);
+                exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+                exchange.sendResponseHeaders(reply.status, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Reply route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        JsonNode body = readBody(exchange);
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+
+        switch (method + " " + path) {
+            case "POST /Account/v1/User":
+                return registerUser(body);
+            case "POST /Account/v1/GenerateToken":
+                return generateToken(body);
+            case "POST /Account/v1/Authorized":
+                return authorized(body);
+            case "POST /Account/v1/Login":
+                return login(body);
+            case "GET /BookStore/v1/Books":
+                return getBooks(exchange.getRequestHeaders().getFirst("If-None-Match"));
+            case "POST /BookStore/v1/Books":
+                return addBooks(body, authorization);
+            case "DELETE /BookStore/v1/Books":
+                return deleteAllBooks(query.get("UserId"), authorization);
+            case "GET /BookStore/v1/Book":
+                return getBook(query.get("ISBN"));
+            case "DELETE /BookStore/v1/Book":
+                return deleteBook(body, authorization);
+            default:
+                break;
+        }
+        if (path.startsWith(USER_PATH)) {
+            String userId = path.substring(USER_PATH.length());
+            if ("GET".equals(method)) {
+                return getUser(userId, authorization);
+            }
+            if ("DELETE".equals(method)) {
+                return deleteUser(userId, authorization);
+            }
+        }
+        return error(404, "404", "Not found");
+    }
+
+    private Reply registerUser(JsonNode body) {
+        String userName = text(body, "userName");
+        String password = text(body, "password");
+        if (isEmpty(userName) || isEmpty(password)) {
+            return error(400, "1200", "UserName and Password required.");
+        }
+        if (!PASSWORD_POLICY.matcher(password).matches()) {
+            return error(400, "1300", "Passwords must have at least one non alphanumeric character, one digit ('0'-'9')," +
+                    " one uppercase ('A'-'Z'), one lowercase ('a'-'z'), one special character and Password must be" +
+                    " eight characters or longer.");
+        }
+        User user = storage.createUser(userName, password);
+        if (user == null) {
+            return error(406, "1204", "User exists!");
+        }
+        RegistrationResponseModel response = new RegistrationResponseModel();
+        response.setUserId(user.userId);
+        response.setUsername(user.userName);
+        response.setBooks(List.of());
+        return new Reply(201, response);
+    }
+
+    private Reply generateToken(JsonNode body) {
+        String userName = text(body, "userName");
+        String password = text(body, "password");
+        if (isEmpty(userName) || isEmpty(password)) {
+            return error(400, "1200", "UserName and Password required.");
+        }
+        GenerateTokenResponseModel response = new GenerateTokenResponseModel();
+        User user = storage.findUser(userName, password);
+        if (user == null) {
+            response.setStatus("Failed");
+            response.setResult("User authorization failed.");
+            return new Reply(200, response);
+        }
+        Token token = storage.issueToken(user);
+        response.setToken(token.value);
+        response.setExpires(DATE_FORMAT.format(token.expires));
+        response.setStatus("Success");
+        response.setResult("User authorized successfully.");
+        return new Reply(200, response);
+    }
+
+    private Reply authorized(JsonNode body) {
+        String userName = text(body, "userName");
+        String password = text(body, "password");
+        if (isEmpty(userName) || isEmpty(password)) {
+            return error(400, "1200", "UserName and Password required.");
+        }
+        User user = storage.findUser(userName, password);
+        if (user == null) {
+            return error(404, "1207", "User not found!");
+        }
+        return new Reply(200, user.authorized);
+    }
+
+    private Reply login(JsonNode body) {
+        String userName = text(body, "userName");
+        String password = text(body, "password");
+        if (isEmpty(userName) || isEmpty(password)) {
+            return error(400, "1200", "UserName and Password required.");
+        }
+        User user = storage.findUser(userName, password);
+        if (user == null) {
+            return error(404, "1207", "User not found!");
+        }
+        Token token = user.lastToken != null ? user.lastToken : storage.issueToken(user);
+        LoginResponseModel response = new LoginResponseModel();
+        response.setUserId(user.userId);
+        response.setUsername(user.userName);
+        response.setPassword(user.password);
+        response.setToken(token.value);
+        response.setExpires(DATE_FORMAT.format(token.expires));
+        response.setCreated_date(DATE_FORMAT.format(user.createdDate));
+        response.setIsActive(false);
+        return new Reply(200, response);
+    }
+
+    private Reply getUser(String userId, String authorization) {
+        User caller = storage.authenticate(authorization);
+        if (caller == null) {
+            return error(401, "1200", "User not authorized!");
+        }
+        if (!caller.userId.equals(userId)) {
+            return error(401, "1207", "User not found!");
+        }
+        UserBooksModel response = new UserBooksModel();
+        response.setUserId(caller.userId);
+        response.setUsername(caller.userName);
+        synchronized (caller) {
+            response.setBooks(caller.isbns.stream().map(storage::getBook).collect(Collectors.toList()));
+        }
+        return new Reply(200, response);
+    }
+
+    private Reply deleteUser(String userId, String authorization) {
+        User caller = storage.authenticate(authorization);
+        if (caller == null) {
+            return error(401, "1200", "User not authorized!");
+        }
+        if (!caller.userId.equals(userId) || !storage.deleteUser(caller)) {
+            return error(200, "1207", "User Id not correct!");
+        }
+        return new Reply(204, null);
+    }
+
+    private Reply getBooks(String ifNoneMatch) {
+        if (storage.getBooksETag().equals(ifNoneMatch)) {
+            return new Reply(304, null, Map.of("ETag", storage.getBooksETag()));
+        }
+        BooksModel response = new BooksModel();
+        response.setBooks(storage.getBooks());
+        return new Reply(200, response, Map.of("ETag", storage.getBooksETag()));
+    }
+
+    private Reply getBook(String isbn) {
+        BookModel book = storage.getBook(isbn);
+        if (book == null) {
+            return error(400, "1205", "ISBN supplied is not available in Books Collection!");
+        }
+        return new Reply(200, book);
+    }
+
+    private Reply addBooks(JsonNode body, String authorization) {
+        User caller = storage.authenticate(authorization);
+        if (caller == null) {
+            return error(401, "1200", "User not authorized!");
+        }
+        if (!caller.userId.equals(text(body, "userId"))) {
+            return error(401, "1207", "User Id not correct!");
+        }
+        List<String> isbns = new ArrayList<>();
+        body.path("collectionOfIsbns").forEach(item -> isbns.add(text(item, "isbn")));
+        if (isbns.isEmpty()) {
+            return error(400, "1207", "Collection of books required.");
+        }
+        if (isbns.stream().anyMatch(isbn -> storage.getBook(isbn) == null)) {
+            return error(400, "1205", "ISBN supplied is not available in Books Collection!");
+        }
+        synchronized (caller) {
+            if (isbns.stream().anyMatch(caller.isbns::contains)) {
+                return error(400, "1210", "ISBN already present in the User's Collection!");
+            }
+            caller.isbns.addAll(isbns);
+        }
+        AddBooksResponseModel response = new AddBooksResponseModel();
+        response.setBooks(isbns.stream().map(IsbnModel::new).collect(Collectors.toList()));
+        return new Reply(201, response);
+    }
+
+    private Reply deleteAllBooks(String userId, String authorization) {
+        User caller = storage.authenticate(authorization);
+        if (caller == null) {
+            return error(401, "1200", "User not authorized!");
+        }
+        if (!caller.userId.equals(userId)) {
+            return error(401, "1207", "User Id not correct!");
+        }
+        synchronized (caller) {
+            caller.isbns.clear();
+        }
+        return new Reply(204, null);
+    }
+
+    private Reply deleteBook(JsonNode body, String authorization) {
+        User caller = storage.authenticate(authorization);
+        if (caller == null) {
+            return error(401, "1200", "User not authorized!");
+        }
+        if (!caller.userId.equals(text(body, "userId"))) {
+            return error(401, "1207", "User Id not correct!");
+        }
+        boolean removed;
+        synchronized (caller) {
+            removed = caller.isbns.remove(text(body, "isbn"));
+        }
+        if (!removed) {
+            return error(400, "1206", "ISBN supplied is not available in User's Collection!");
+        }
+        return new Reply(204, null);
+    }
+
+    private static Reply error(int status, String code, String message) {
+        ErrorResponseModel response = new ErrorResponseModel();
+        response.setCode(code);
+        response.setMessage(message);
+        return new Reply(status, response);
+    }
+
+    private static JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readAllBytes();
+            return bytes.length == 0 ? MissingNode.getInstance() : MAPPER.readTree(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> query = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private static class Reply {
+        final int status;
+        final Object body;
+        final Map<String, String> headers;
+
+        Reply(int status, Object body) {
+            this(status, body, Map.of());
+        }
+
+        Reply(int status, Object body, Map<String, String> headers) {
+            this.status = status;
+            this.body = body;
+            this.headers = headers;
+        }
+    }
+}
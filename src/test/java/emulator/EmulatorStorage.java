@@ -0,0 +1,127 @@
+package emulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import models.BookModel;
+import models.BooksModel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class EmulatorStorage {
+    private static final Duration TOKEN_TTL = Duration.ofDays(7);
+
+    private final List<BookModel> books;
+    private final Map<String, BookModel> booksByIsbn;
+    private final String booksETag;
+    private final ConcurrentMap<String, User> usersById = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, User> usersByName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Token> tokens = new ConcurrentHashMap<>();
+
+    public EmulatorStorage(ObjectMapper mapper) {
+        try (InputStream catalog = EmulatorStorage.class.getResourceAsStream("/emulator/books.json")) {
+            books = List.copyOf(mapper.readValue(catalog, BooksModel.class).getBooks());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<String, BookModel> index = new LinkedHashMap<>();
+        books.forEach(book -> index.put(book.getIsbn(), book));
+        booksByIsbn = Collections.unmodifiableMap(index);
+        booksETag = "\"" + Integer.toHexString(books.hashCode()) + "\"";
+    }
+
+    public List<BookModel> getBooks() {
+        return books;
+    }
+
+    public String getBooksETag() {
+        return booksETag;
+    }
+
+    public BookModel getBook(String isbn) {
+        return isbn == null ? null : booksByIsbn.get(isbn);
+    }
+
+    public User createUser(String userName, String password) {
+        User user = new User(UUID.randomUUID().toString(), userName, password, Instant.now());
+        if (usersByName.putIfAbsent(userName, user) != null) {
+            return null;
+        }
+        usersById.put(user.userId, user);
+        return user;
+    }
+
+    public User findUser(String userName, String password) {
+        User user = usersByName.get(userName);
+        return user != null && user.password.equals(password) ? user : null;
+    }
+
+    public User getUser(String userId) {
+        return userId == null ? null : usersById.get(userId);
+    }
+
+    public boolean deleteUser(User user) {
+        if (!usersById.remove(user.userId, user)) {
+            return false;
+        }
+        usersByName.remove(user.userName, user);
+        user.tokens.forEach(tokens::remove);
+        return true;
+    }
+
+    public Token issueToken(User user) {
+        Token token = new Token(UUID.randomUUID().toString().replace("-", "") + UUID.randomUUID().toString().replace("-", ""),
+                user.userId, Instant.now().plus(TOKEN_TTL));
+        tokens.put(token.value, token);
+        user.tokens.add(token.value);
+        user.lastToken = token;
+        user.authorized = true;
+        return token;
+    }
+
+    public User authenticate(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        Token token = tokens.get(authorization.substring("Bearer ".length()));
+        if (token == null || token.expires.isBefore(Instant.now())) {
+            return null;
+        }
+        return usersById.get(token.userId);
+    }
+
+    public static class User {
+        final String userId;
+        final String userName;
+        final String password;
+        final Instant createdDate;
+        final Set<String> isbns = new LinkedHashSet<>();
+        final Set<String> tokens = ConcurrentHashMap.newKeySet();
+        volatile Token lastToken;
+        volatile boolean authorized;
+
+        User(String userId, String userName, String password, Instant createdDate) {
+            this.userId = userId;
+            this.userName = userName;
+            this.password = password;
+            this.createdDate = createdDate;
+        }
+    }
+
+    public static class Token {
+        final String value;
+        final String userId;
+        final Instant expires;
+
+        Token(String value, String userId, Instant expires) {
+            this.value = value;
+            this.userId = userId;
+            this.expires = expires;
+        }
+    }
+}
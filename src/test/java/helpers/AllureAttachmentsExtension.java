@@ -0,0 +1,22 @@
+package helpers;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+public class AllureAttachmentsExtension implements BeforeEachCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (CustomAllureListener.isLazy()) {
+            AllureHttpFilter.startTest();
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (CustomAllureListener.isLazy()) {
+            AllureHttpFilter.finishTest(context.getExecutionException().isPresent());
+        }
+    }
+}
\ No newline at end of file
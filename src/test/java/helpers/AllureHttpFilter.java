@@ -0,0 +1,164 @@
+package helpers;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.attachment.AttachmentData;
+import io.qameta.allure.attachment.AttachmentRenderer;
+import io.qameta.allure.attachment.DefaultAttachmentProcessor;
+import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.attachment.http.HttpResponseAttachment;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Cookies;
+import io.restassured.http.Headers;
+import io.restassured.internal.support.Prettifier;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class AllureHttpFilter implements Filter {
+    private static final double SAMPLE_RATE = Double.parseDouble(System.getProperty("allure.attachments.sampleRate", "0"));
+    // inheritable so that requests made on fixture and step graph threads started by the test are kept too
+    private static final InheritableThreadLocal<Capture> CAPTURE = new InheritableThreadLocal<>();
+
+    private final AttachmentRenderer<AttachmentData> requestRenderer;
+    private final AttachmentRenderer<AttachmentData> responseRenderer;
+    private final boolean lazy;
+
+    public AllureHttpFilter(String requestTemplate, String responseTemplate, boolean lazy) {
+        this.requestRenderer = new FreemarkerAttachmentRenderer(requestTemplate);
+        this.responseRenderer = new FreemarkerAttachmentRenderer(responseTemplate);
+        this.lazy = lazy;
+    }
+
+    public static void startTest() {
+        CAPTURE.set(new Capture());
+    }
+
+    public static void finishTest(boolean failed) {
+        Capture capture = CAPTURE.get();
+        CAPTURE.remove();
+        if (capture == null) {
+            return;
+        }
+        List<Attachment> pending = capture.close();
+        if (failed || SAMPLE_RATE > ThreadLocalRandom.current().nextDouble()) {
+            pending.forEach(Attachment::attach);
+        }
+    }
+
+    // called by AllureStepListener while the failed step is still the current one, so they land on that step
+    static void attachFailedStep(String step) {
+        Capture capture = CAPTURE.get();
+        if (capture != null) {
+            capture.take(step).forEach(Attachment::attach);
+        }
+    }
+
+    // requests of a passed step stay pending under its parent in case the parent fails
+    static void moveToParent(String step, String parent) {
+        Capture capture = CAPTURE.get();
+        if (capture != null) {
+            capture.move(step, parent);
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        HttpRequestAttachment.Builder request = HttpRequestAttachment.Builder.create("Request", requestSpec.getURI())
+                .setMethod(requestSpec.getMethod())
+                .setHeaders(toMap(requestSpec.getHeaders()))
+                .setCookies(toMap(requestSpec.getCookies()));
+        if (requestSpec.getBody() != null) {
+            request.setBody(new Prettifier().getPrettifiedBodyIfPossible(requestSpec));
+        }
+        add(new Attachment(request.build(), requestRenderer));
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        add(new Attachment(HttpResponseAttachment.Builder.create(response.getStatusLine())
+                .setResponseCode(response.getStatusCode())
+                .setHeaders(toMap(response.getHeaders()))
+                .setBody(new Prettifier().getPrettifiedBodyIfPossible(response, response))
+                .build(), responseRenderer));
+        return response;
+    }
+
+    private void add(Attachment attachment) {
+        if (!lazy) {
+            attachment.attach();
+            return;
+        }
+        Capture capture = CAPTURE.get();
+        if (capture != null) {
+            capture.add(attachment);
+        }
+    }
+
+    private static Map<String, String> toMap(Headers headers) {
+        Map<String, String> result = new HashMap<>();
+        headers.forEach(header -> result.put(header.getName(), header.getValue()));
+        return result;
+    }
+
+    private static Map<String, String> toMap(Cookies cookies) {
+        Map<String, String> result = new HashMap<>();
+        cookies.forEach(cookie -> result.put(cookie.getName(), cookie.getValue()));
+        return result;
+    }
+
+    // attachments of one test, each owned by the step (or test) that was current when the request was made;
+    // a thread that outlives the test may still hold it, so a closed capture drops what it is given
+    private static class Capture {
+        private final List<Attachment> pending = new ArrayList<>();
+        private boolean closed;
+
+        synchronized void add(Attachment attachment) {
+            if (!closed) {
+                pending.add(attachment);
+            }
+        }
+
+        synchronized List<Attachment> take(String owner) {
+            List<Attachment> taken = new ArrayList<>();
+            pending.removeIf(attachment -> Objects.equals(attachment.owner, owner) && taken.add(attachment));
+            return taken;
+        }
+
+        synchronized void move(String from, String to) {
+            pending.stream().filter(attachment -> Objects.equals(attachment.owner, from))
+                    .forEach(attachment -> attachment.owner = to);
+        }
+
+        synchronized List<Attachment> close() {
+            closed = true;
+            List<Attachment> rest = new ArrayList<>(pending);
+            pending.clear();
+            return Collections.unmodifiableList(rest);
+        }
+    }
+
+    private static class Attachment {
+        final AttachmentData data;
+        final AttachmentRenderer<AttachmentData> renderer;
+        String owner = Allure.getLifecycle().getCurrentTestCaseOrStep().orElse(null);
+
+        Attachment(AttachmentData data, AttachmentRenderer<AttachmentData> renderer) {
+            this.data = data;
+            this.renderer = renderer;
+        }
+
+        void attach() {
+            new DefaultAttachmentProcessor().addAttachment(data, renderer);
+        }
+    }
+}
\ No newline at end of file
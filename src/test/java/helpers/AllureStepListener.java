@@ -0,0 +1,34 @@
+package helpers;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+
+// Registered through META-INF/services: with allure.attachments=failed the HTTP attachments of a step
+// are added to that step as soon as it fails instead of to the test once it is over
+public class AllureStepListener implements StepLifecycleListener {
+    private static final ThreadLocal<String> STOPPING = new ThreadLocal<>();
+
+    @Override
+    public void beforeStepStop(StepResult result) {
+        if (!CustomAllureListener.isLazy()) {
+            return;
+        }
+        String step = Allure.getLifecycle().getCurrentTestCaseOrStep().orElse(null);
+        if (result.getStatus() == Status.FAILED || result.getStatus() == Status.BROKEN) {
+            AllureHttpFilter.attachFailedStep(step);
+        } else {
+            STOPPING.set(step);
+        }
+    }
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        String step = STOPPING.get();
+        STOPPING.remove();
+        if (step != null) {
+            AllureHttpFilter.moveToParent(step, Allure.getLifecycle().getCurrentTestCaseOrStep().orElse(null));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package helpers;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+public class AsyncLogFilter implements Filter {
+    public static final boolean ENABLED = "async".equals(System.getProperty("log.mode"));
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Object requestBody = requestSpec.getBody();
+        AsyncLogger.log("Request: " + requestSpec.getMethod() + " " + requestSpec.getURI() + "\n" + requestSpec.getHeaders(),
+                requestBody == null ? null : requestBody.toString());
+        Response response = ctx.next(requestSpec, responseSpec);
+        AsyncLogger.log("Response: " + response.getStatusLine() + "\n" + response.getHeaders(), response.asString());
+        return response;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package helpers;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AsyncLogger {
+    private static final int MAX_BODY_CHARS = Integer.getInteger("log.maxBodyChars", 2000);
+    private static final BlockingQueue<String> QUEUE = new ArrayBlockingQueue<>(Integer.getInteger("log.bufferSize", 8192));
+    private static final AtomicLong DROPPED = new AtomicLong();
+    // inheritable so that requests made on fixture and step graph threads started by the test are kept too
+    private static final InheritableThreadLocal<TestLog> TEST_LOG = new InheritableThreadLocal<>();
+    private static final PrintStream OUT = System.out;
+
+    static {
+        Thread writer = new Thread(null, AsyncLogger::drainForever, "async-http-logger", 0, false);
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(AsyncLogger::drain));
+    }
+
+    public static void log(String header, String body) {
+        TestLog testLog = TEST_LOG.get();
+        if (testLog != null) {
+            testLog.add(body == null || body.isEmpty() ? header : header + "\n" + body);
+        }
+        String entry = body == null || body.isEmpty() ? header : header + "\n" + truncate(body);
+        if (!QUEUE.offer(entry)) {
+            DROPPED.incrementAndGet();
+        }
+    }
+
+    public static void startTest() {
+        TEST_LOG.set(new TestLog());
+    }
+
+    public static void finishTest(boolean failed, String testName) {
+        TestLog testLog = TEST_LOG.get();
+        TEST_LOG.remove();
+        List<String> entries = testLog != null ? testLog.close() : List.of();
+        if (failed && !entries.isEmpty()) {
+            StringBuilder dump = new StringBuilder("===== Full HTTP log of failed test: ").append(testName).append(" =====\n");
+            entries.forEach(entry -> dump.append(entry).append('\n'));
+            synchronized (OUT) {
+                OUT.print(dump);
+                OUT.flush();
+            }
+        }
+    }
+
+    private static String truncate(String body) {
+        return body.length() <= MAX_BODY_CHARS
+                ? body
+                : body.substring(0, MAX_BODY_CHARS) + "... [" + (body.length() - MAX_BODY_CHARS) + " more chars truncated]";
+    }
+
+    private static void drainForever() {
+        List<String> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(QUEUE.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            QUEUE.drainTo(batch);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private static void drain() {
+        List<String> batch = new ArrayList<>();
+        QUEUE.drainTo(batch);
+        write(batch);
+    }
+
+    private static void write(List<String> batch) {
+        StringBuilder text = new StringBuilder();
+        batch.forEach(entry -> text.append(entry).append('\n'));
+        long dropped = DROPPED.getAndSet(0);
+        if (dropped > 0) {
+            text.append("[async-http-logger] ").append(dropped).append(" entries dropped, log buffer was full\n");
+        }
+        synchronized (OUT) {
+            OUT.print(text);
+            OUT.flush();
+        }
+    }
+
+    // a step thread still running after the test finished must not add to the log of the next test
+    private static class TestLog {
+        private final List<String> entries = new ArrayList<>();
+        private boolean closed;
+
+        synchronized void add(String entry) {
+            if (!closed) {
+                entries.add(entry);
+            }
+        }
+
+        synchronized List<String> close() {
+            closed = true;
+            return entries;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package helpers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class BatchExecutor {
+    private static final int CONCURRENCY = Integer.getInteger("batch.concurrency", 32);
+    private static final int RETRIES = Integer.getInteger("batch.retries", 2);
+    private static final long BACKOFF_MS = Long.getLong("batch.backoffMs", 200);
+
+    // operations are asynchronous, so the permits bound requests in flight rather than busy threads;
+    // only items marked idempotent are retried, a second add-books call for example would fail as a duplicate,
+    // and only after an I/O error, 429 or 5xx: any other reply would come back the same
+    public static <T> BatchResult<T> run(Collection<T> items, boolean idempotent,
+                                         Function<T, CompletableFuture<Void>> operation) {
+        BatchResult<T> result = new BatchResult<>();
+        Semaphore permits = new Semaphore(CONCURRENCY);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            permits.acquireUninterruptibly();
+            futures.add(attempt(item, operation, idempotent ? RETRIES : 0, 0)
+                    .whenComplete((ignored, error) -> {
+                        permits.release();
+                        if (error == null) {
+                            result.succeeded(item);
+                        } else {
+                            result.failed(item, error instanceof CompletionException ? error.getCause() : error);
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .exceptionally(error -> null)
+                .join();
+        return result;
+    }
+
+    private static <T> CompletableFuture<Void> attempt(T item, Function<T, CompletableFuture<Void>> operation,
+                                                       int retriesLeft, int attempt) {
+        CompletableFuture<Void> future = start(item, operation);
+        if (retriesLeft == 0) {
+            return future;
+        }
+        return future.handle((value, error) -> error == null || !isRetryable(error)
+                        ? future
+                        : CompletableFuture.runAsync(() -> {
+                        }, CompletableFuture.delayedExecutor(BACKOFF_MS << attempt, TimeUnit.MILLISECONDS))
+                        .thenCompose(ignored -> attempt(item, operation, retriesLeft - 1, attempt + 1)))
+                .thenCompose(next -> next);
+    }
+
+    private static <T> CompletableFuture<Void> start(T item, Function<T, CompletableFuture<Void>> operation) {
+        try {
+            return operation.apply(item);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusException) {
+                int status = ((HttpStatusException) cause).getStatus();
+                return status == 429 || status >= 500 && status != 501;
+            }
+            // an unparsable body is not a transport failure
+            if (cause instanceof JsonProcessingException) {
+                return false;
+            }
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package helpers;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class BatchResult<T> {
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    private final Queue<T> succeeded = new ConcurrentLinkedQueue<>();
+    private final Queue<Map.Entry<T, Throwable>> failures = new ConcurrentLinkedQueue<>();
+
+    void succeeded(T item) {
+        succeeded.add(item);
+    }
+
+    void failed(T item, Throwable error) {
+        failures.add(Map.entry(item, error));
+    }
+
+    public List<T> getSucceeded() {
+        return List.copyOf(succeeded);
+    }
+
+    public Map<T, Throwable> getFailures() {
+        Map<T, Throwable> result = new LinkedHashMap<>();
+        failures.forEach(failure -> result.put(failure.getKey(), failure.getValue()));
+        return result;
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    public void throwIfFailed(String operation) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        IllegalStateException error = new IllegalStateException(operation + " failed for " + failures.size()
+                + " of " + (failures.size() + succeeded.size()) + " items");
+        failures.stream()
+                .limit(MAX_REPORTED_FAILURES)
+                .forEach(failure -> error.addSuppressed(failure.getValue()));
+        throw error;
+    }
+}
\ No newline at end of file
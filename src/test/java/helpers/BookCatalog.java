@@ -0,0 +1,86 @@
+package helpers;
+
+import api.BooksApi;
+import api.BooksStreamApi;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import models.BookModel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class BookCatalog {
+    private static final long TTL_NANOS = Long.getLong("bookCatalog.ttlSec", 300) * 1_000_000_000L;
+
+    private static volatile Snapshot snapshot;
+
+    public static List<BookModel> getBooks() {
+        return snapshot().books;
+    }
+
+    public static BookModel getBook(String isbn) {
+        return snapshot().booksByIsbn.get(isbn);
+    }
+
+    public static BookModel getRandomBook() {
+        BookModel[] books = snapshot().booksArray;
+        return books[ThreadLocalRandom.current().nextInt(books.length)];
+    }
+
+    public static synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    private static Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired()) {
+            return current;
+        }
+        synchronized (BookCatalog.class) {
+            current = snapshot;
+            if (current == null || current.isExpired()) {
+                current = load(current);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private static Snapshot load(Snapshot previous) {
+        ExtractableResponse<Response> response = Cassette.inFixtureScope(() -> previous == null
+                ? BooksApi.getAllBooksIfModified(null, null)
+                : BooksApi.getAllBooksIfModified(previous.eTag, previous.lastModified));
+        if (response.statusCode() == 304 && previous != null) {
+            return new Snapshot(previous.books, previous.eTag, previous.lastModified);
+        }
+        List<BookModel> books = new ArrayList<>();
+        BooksStreamApi.readBooks(response.asInputStream(), books::add);
+        return new Snapshot(books, response.header("ETag"), response.header("Last-Modified"));
+    }
+
+    private static class Snapshot {
+        final List<BookModel> books;
+        final BookModel[] booksArray;
+        final Map<String, BookModel> booksByIsbn;
+        final String eTag;
+        final String lastModified;
+        final long loadedAt = System.nanoTime();
+
+        Snapshot(List<BookModel> books, String eTag, String lastModified) {
+            this.books = List.copyOf(books);
+            this.booksArray = this.books.toArray(new BookModel[0]);
+            Map<String, BookModel> index = new HashMap<>();
+            this.books.forEach(book -> index.put(book.getIsbn(), book));
+            this.booksByIsbn = Map.copyOf(index);
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - loadedAt > TTL_NANOS;
+        }
+    }
+}
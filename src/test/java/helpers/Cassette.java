@@ -0,0 +1,363 @@
+package helpers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Recorded exchanges are keyed by test + method + path template + query and body templates, where
+// user names, passwords, ids, tokens and isbns are replaced by placeholders. Values the request carried
+// are put back into the recorded response on replay, so a replayed registration returns this run's user name.
+// The n-th call with the same key in a test gets the n-th recorded response.
+// Shared fixtures (pool users, the book catalog, tokens) run in the "fixture" scope instead of the scope of
+// whichever test happened to need them first, so a replay with another test selection still finds them.
+// Test forks of one build record into the same file: each merges its exchanges into it under a file lock,
+// and a cassette left by an earlier build (another cassette.runId) is replaced rather than merged.
+//
+// File layout: header [magic, version, slots, keys, run id], a slot table of [key hash, key offset] with linear probing,
+// then key records [key length, key, response count, response offsets...] and responses
+// [status, header count, (name, value)..., body length, body]. Replay maps the file and probes the table,
+// so opening a cassette does not depend on its size.
+public class Cassette {
+    public static final String MODE = System.getProperty("cassette.mode", "off");
+    public static final Path FILE = Paths.get(System.getProperty("cassette.file", "cassettes/demoqa.cassette"));
+
+    private static final int MAGIC = 0x43415353;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 24;
+    private static final String FIXTURE_SCOPE = "fixture";
+    // the build passes the same timing.runId to all of its test forks
+    private static final long RUN_ID = Long.getLong("cassette.runId", Long.getLong("timing.runId", System.currentTimeMillis()));
+    private static final int SLOT_SIZE = 12;
+    private static final Pattern BODY_FIELD = Pattern.compile("\"(userName|password|userId|token|isbn)\"\\s*:\\s*\"([^\"]*)\"");
+    private static final Pattern QUERY_PARAM = Pattern.compile("([^&=]+)=([^&]*)");
+    private static final Pattern UUID = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final InheritableThreadLocal<String> SCOPE = new InheritableThreadLocal<>();
+    private static final ConcurrentMap<String, List<Entry>> RECORDED = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, AtomicInteger> REPLAYED = new ConcurrentHashMap<>();
+
+    static {
+        if (isRecording()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(Cassette::write));
+        }
+    }
+
+    public static boolean isRecording() {
+        return "record".equals(MODE);
+    }
+
+    public static boolean isReplaying() {
+        return "replay".equals(MODE);
+    }
+
+    public static void setScope(String scope) {
+        SCOPE.set(scope);
+    }
+
+    public static void clearScope() {
+        SCOPE.remove();
+    }
+
+    // runs a shared fixture, and the fixture threads it starts, outside the scope of the current test
+    public static <T> T inFixtureScope(Supplier<T> fixture) {
+        String previous = SCOPE.get();
+        SCOPE.set(FIXTURE_SCOPE);
+        try {
+            return fixture.get();
+        } finally {
+            if (previous == null) {
+                SCOPE.remove();
+            } else {
+                SCOPE.set(previous);
+            }
+        }
+    }
+
+    public static void inFixtureScope(Runnable fixture) {
+        inFixtureScope(() -> {
+            fixture.run();
+            return null;
+        });
+    }
+
+    public static String key(String method, String path, String query, String body, boolean conditional) {
+        StringBuilder key = new StringBuilder()
+                .append(Objects.requireNonNullElse(SCOPE.get(), "")).append('\n')
+                .append(method).append(' ').append(LatencyRegistry.toTemplate(path));
+        if (query != null && !query.isEmpty()) {
+            key.append('?').append(UUID.matcher(QUERY_PARAM.matcher(query).replaceAll("$1={$1}")).replaceAll("{uuid}"));
+        }
+        if (conditional) {
+            key.append(" [conditional]");
+        }
+        if (body != null && !body.isEmpty()) {
+            key.append('\n').append(UUID.matcher(BODY_FIELD.matcher(body).replaceAll("\"$1\":\"{$1}\"")).replaceAll("{uuid}"));
+        }
+        return key.toString();
+    }
+
+    public static Map<String, String> bindings(String path, String query, String body) {
+        Map<String, String> bindings = new HashMap<>();
+        String lastSegment = path.substring(path.lastIndexOf('/') + 1);
+        if (!LatencyRegistry.toTemplate("/" + lastSegment).equals("/" + lastSegment)) {
+            bindings.put("pathId", lastSegment);
+        }
+        if (query != null) {
+            Matcher param = QUERY_PARAM.matcher(query);
+            while (param.find()) {
+                bindings.put(param.group(1), param.group(2));
+            }
+        }
+        if (body != null) {
+            Matcher field = BODY_FIELD.matcher(body);
+            while (field.find()) {
+                bindings.put(field.group(1), field.group(2));
+            }
+        }
+        return bindings;
+    }
+
+    public static void record(String key, Map<String, String> bindings, int status, Map<String, String> headers, byte[] body) {
+        String template = new String(body, StandardCharsets.UTF_8);
+        List<Map.Entry<String, String>> byLength = new ArrayList<>(bindings.entrySet());
+        byLength.sort(Comparator.comparingInt((Map.Entry<String, String> binding) -> binding.getValue().length()).reversed());
+        for (Map.Entry<String, String> binding : byLength) {
+            if (binding.getValue().length() >= 4) {
+                template = template.replace(binding.getValue(), "{{" + binding.getKey() + "}}");
+            }
+        }
+        RECORDED.computeIfAbsent(key, ignored -> Collections.synchronizedList(new ArrayList<>()))
+                .add(new Entry(status, new LinkedHashMap<>(headers), template.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static Entry replay(String key, Map<String, String> bindings) {
+        List<Integer> offsets = Reader.Holder.INSTANCE.find(key);
+        if (offsets.isEmpty()) {
+            throw new IllegalStateException("No recorded response in " + FILE + " for " + key.replace('\n', ' '));
+        }
+        int call = REPLAYED.computeIfAbsent(key, ignored -> new AtomicInteger()).getAndIncrement();
+        Entry entry = Reader.Holder.INSTANCE.read(offsets.get(Math.min(call, offsets.size() - 1)));
+        String body = new String(entry.body, StandardCharsets.UTF_8);
+        if (body.contains("{{")) {
+            for (Map.Entry<String, String> binding : bindings.entrySet()) {
+                body = body.replace("{{" + binding.getKey() + "}}", binding.getValue());
+            }
+        }
+        return new Entry(entry.status, entry.headers, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void write() {
+        try {
+            Files.createDirectories(FILE.toAbsolutePath().getParent());
+            try (FileChannel lockChannel = FileChannel.open(FILE.resolveSibling(FILE.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lockChannel.lock()) {
+                Map<String, List<Entry>> recorded = new TreeMap<>();
+                if (Files.exists(FILE)) {
+                    Reader existing = new Reader(FILE);
+                    if (existing.runId == RUN_ID) {
+                        recorded.putAll(existing.readAll());
+                    }
+                }
+                RECORDED.forEach((key, entries) -> recorded.merge(key, new ArrayList<>(entries), (merged, more) -> {
+                    List<Entry> all = new ArrayList<>(merged);
+                    all.addAll(more);
+                    return all;
+                }));
+                write(recorded);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(Map<String, List<Entry>> recorded) throws IOException {
+        Path temp = FILE.resolveSibling(FILE.getFileName() + ".tmp");
+        int slots = Integer.highestOneBit(Math.max(recorded.size(), 1) * 2) * 2;
+        ByteBuffer table = ByteBuffer.allocate(slots * SLOT_SIZE);
+        DataBuffer data = new DataBuffer();
+        long dataStart = HEADER_SIZE + (long) slots * SLOT_SIZE;
+        for (Map.Entry<String, List<Entry>> key : recorded.entrySet()) {
+            List<Integer> responseOffsets = new ArrayList<>();
+            for (Entry entry : key.getValue()) {
+                responseOffsets.add((int) (dataStart + data.size()));
+                data.putInt(entry.status).putInt(entry.headers.size());
+                entry.headers.forEach((name, value) -> data.putString(name).putString(value));
+                data.putInt(entry.body.length).put(entry.body);
+            }
+            int keyOffset = (int) (dataStart + data.size());
+            byte[] keyBytes = key.getKey().getBytes(StandardCharsets.UTF_8);
+            data.putInt(keyBytes.length).put(keyBytes).putInt(responseOffsets.size());
+            responseOffsets.forEach(data::putInt);
+            long hash = hash(keyBytes);
+            int slot = (int) (hash & (slots - 1));
+            while (table.getInt(slot * SLOT_SIZE + 8) != 0) {
+                slot = (slot + 1) & (slots - 1);
+            }
+            table.putLong(slot * SLOT_SIZE, hash).putInt(slot * SLOT_SIZE + 8, keyOffset);
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putInt(slots).putInt(recorded.size())
+                    .putLong(RUN_ID).flip();
+            for (ByteBuffer buffer : List.of(header, table, ByteBuffer.wrap(data.toByteArray()))) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temp, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public static class Entry {
+        public final int status;
+        public final Map<String, String> headers;
+        public final byte[] body;
+
+        Entry(int status, Map<String, String> headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    private static class Reader {
+        final MappedByteBuffer file;
+        final int slots;
+        final long runId;
+
+        Reader(Path path) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (file.capacity() < HEADER_SIZE || file.getInt(0) != MAGIC || file.getInt(4) != VERSION) {
+                throw new IllegalStateException(path + " is not a cassette");
+            }
+            slots = file.getInt(8);
+            runId = file.getLong(16);
+        }
+
+        Map<String, List<Entry>> readAll() {
+            Map<String, List<Entry>> entries = new TreeMap<>();
+            for (int slot = 0; slot < slots; slot++) {
+                int keyOffset = file.getInt(HEADER_SIZE + slot * SLOT_SIZE + 8);
+                if (keyOffset == 0) {
+                    continue;
+                }
+                byte[] keyBytes = new byte[file.getInt(keyOffset)];
+                file.get(keyOffset + 4, keyBytes);
+                int count = file.getInt(keyOffset + 4 + keyBytes.length);
+                List<Entry> responses = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    responses.add(read(file.getInt(keyOffset + 8 + keyBytes.length + i * 4)));
+                }
+                entries.put(new String(keyBytes, StandardCharsets.UTF_8), responses);
+            }
+            return entries;
+        }
+
+        List<Integer> find(String key) {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            long hash = hash(keyBytes);
+            for (int slot = (int) (hash & (slots - 1)); ; slot = (slot + 1) & (slots - 1)) {
+                int position = HEADER_SIZE + slot * SLOT_SIZE;
+                int keyOffset = file.getInt(position + 8);
+                if (keyOffset == 0) {
+                    return List.of();
+                }
+                if (file.getLong(position) == hash && matches(keyOffset, keyBytes)) {
+                    int count = file.getInt(keyOffset + 4 + keyBytes.length);
+                    List<Integer> offsets = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        offsets.add(file.getInt(keyOffset + 8 + keyBytes.length + i * 4));
+                    }
+                    return offsets;
+                }
+            }
+        }
+
+        boolean matches(int keyOffset, byte[] keyBytes) {
+            if (file.getInt(keyOffset) != keyBytes.length) {
+                return false;
+            }
+            for (int i = 0; i < keyBytes.length; i++) {
+                if (file.get(keyOffset + 4 + i) != keyBytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Entry read(int offset) {
+            ByteBuffer response = file.duplicate().position(offset);
+            int status = response.getInt();
+            int headerCount = response.getInt();
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (int i = 0; i < headerCount; i++) {
+                headers.put(readString(response), readString(response));
+            }
+            byte[] body = new byte[response.getInt()];
+            response.get(body);
+            return new Entry(status, headers, body);
+        }
+
+        static String readString(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.getShort() & 0xffff];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        static class Holder {
+            static final Reader INSTANCE = new Reader(FILE);
+        }
+    }
+
+    private static class DataBuffer extends ByteArrayOutputStream {
+
+        DataBuffer putInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+            return this;
+        }
+
+        DataBuffer put(byte[] bytes) {
+            write(bytes, 0, bytes.length);
+            return this;
+        }
+
+        DataBuffer putString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            write(bytes.length >>> 8);
+            write(bytes.length);
+            return put(bytes);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package helpers;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class CassetteFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Object requestBody = requestSpec.getBody();
+        String body = requestBody instanceof byte[]
+                ? new String((byte[]) requestBody, StandardCharsets.UTF_8)
+                : requestBody == null ? null : requestBody.toString();
+        String path = requestSpec.getDerivedPath();
+        String query = URI.create(requestSpec.getURI()).getRawQuery();
+        String key = Cassette.key(requestSpec.getMethod(), path, query, body,
+                requestSpec.getHeaders().hasHeaderWithName("If-None-Match"));
+        Map<String, String> bindings = Cassette.bindings(path, query, body);
+        if (Cassette.isReplaying()) {
+            Cassette.Entry entry = Cassette.replay(key, bindings);
+            List<Header> headers = entry.headers.entrySet().stream()
+                    .map(header -> new Header(header.getKey(), header.getValue()))
+                    .collect(Collectors.toList());
+            return new ResponseBuilder()
+                    .setStatusCode(entry.status)
+                    .setStatusLine("HTTP/1.1 " + entry.status)
+                    .setHeaders(new Headers(headers))
+                    .setContentType(entry.headers.getOrDefault("Content-Type", "application/json"))
+                    .setBody(entry.body)
+                    .build();
+        }
+        Response response = ctx.next(requestSpec, responseSpec);
+        Map<String, String> headers = new LinkedHashMap<>();
+        response.getHeaders().forEach(header -> headers.putIfAbsent(header.getName(), header.getValue()));
+        Cassette.record(key, bindings, response.getStatusCode(), headers, response.asByteArray());
+        return response;
+    }
+}
\ No newline at end of file
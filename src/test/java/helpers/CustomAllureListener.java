@@ -1,13 +1,16 @@
 package helpers;
 
-import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.filter.Filter;
 
 public class CustomAllureListener {
-    private static final AllureRestAssured FILTER = new AllureRestAssured();
+    private static final boolean LAZY = "failed".equals(System.getProperty("allure.attachments", "all"));
+    private static final AllureHttpFilter FILTER = new AllureHttpFilter("request.ftl", "response.ftl", LAZY);
 
-    public static AllureRestAssured withCustomTemplates() {
-        FILTER.setRequestTemplate("request.ftl");
-        FILTER.setResponseTemplate("response.ftl");
+    public static Filter withCustomTemplates() {
         return FILTER;
     }
+
+    public static boolean isLazy() {
+        return LAZY;
+    }
 }
\ No newline at end of file
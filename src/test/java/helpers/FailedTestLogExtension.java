@@ -0,0 +1,22 @@
+package helpers;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+public class FailedTestLogExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (AsyncLogFilter.ENABLED) {
+            AsyncLogger.startTest();
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        if (AsyncLogFilter.ENABLED) {
+            AsyncLogger.finishTest(context.getExecutionException().isPresent(), context.getUniqueId());
+        }
+    }
+}
\ No newline at end of file
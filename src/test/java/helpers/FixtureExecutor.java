@@ -0,0 +1,64 @@
+package helpers;
+
+import utils.ThreadUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Allure keeps the current step in an inheritable thread local, so a fixture started here
+// reports its steps under the step that was open when it was submitted
+public class FixtureExecutor {
+    private static final Executor EXECUTOR = ThreadUtils.newThreadPerTaskExecutor("fixture");
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> fixture) {
+        return CompletableFuture.supplyAsync(fixture, EXECUTOR);
+    }
+
+    public static CompletableFuture<Void> run(Runnable fixture) {
+        return CompletableFuture.runAsync(fixture, EXECUTOR);
+    }
+
+    public static void runAll(Runnable... fixtures) {
+        joinAll(Stream.of(fixtures).map(FixtureExecutor::run).collect(Collectors.toList()));
+    }
+
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    public static <T> List<T> joinAll(List<? extends CompletableFuture<? extends T>> futures) {
+        Throwable failure = null;
+        for (CompletableFuture<? extends T> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                } else if (failure != e.getCause()) {
+                    // futures depending on a failed one fail with the same error
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw rethrow(failure);
+        }
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        return failure instanceof RuntimeException ? (RuntimeException) failure : new CompletionException(failure);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package helpers;
+
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.client.HttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// REST Assured 5 keeps its client in a field typed AbstractHttpClient and configures it through the legacy
+// params API, so the client has to be a DefaultHttpClient on the legacy pooling manager, deprecated or not
+@SuppressWarnings("deprecation")
+public class HttpClientPool {
+    private static final long KEEP_ALIVE_MS = Long.getLong("http.pool.keepAliveMs", 30_000);
+    private static final long IDLE_TIMEOUT_MS = Long.getLong("http.pool.idleTimeoutMs", 60_000);
+    private static final SharedConnectionManager CONNECTION_MANAGER = new SharedConnectionManager();
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "http-pool-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        CONNECTION_MANAGER.setMaxTotal(Integer.getInteger("http.pool.maxTotal", 200));
+        CONNECTION_MANAGER.setDefaultMaxPerRoute(Integer.getInteger("http.pool.maxPerRoute", 100));
+        EVICTOR.scheduleWithFixedDelay(() -> {
+            CONNECTION_MANAGER.closeExpiredConnections();
+            CONNECTION_MANAGER.closeIdleConnections(IDLE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }, 5, 5, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(CONNECTION_MANAGER::close));
+    }
+
+    public static HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig().httpClientFactory(HttpClientPool::createClient);
+    }
+
+    public static PoolStats getStats() {
+        return CONNECTION_MANAGER.getTotalStats();
+    }
+
+    private static HttpClient createClient() {
+        DefaultHttpClient client = new DefaultHttpClient(CONNECTION_MANAGER);
+        client.setKeepAliveStrategy((response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return keepAlive > 0 ? keepAlive : KEEP_ALIVE_MS;
+        });
+        return client;
+    }
+
+    // REST Assured shuts down the connection manager of every client it is done with,
+    // so the shared pool ignores that and is only closed when the JVM exits
+    private static class SharedConnectionManager extends PoolingClientConnectionManager {
+
+        @Override
+        public void shutdown() {
+        }
+
+        void close() {
+            super.shutdown();
+        }
+    }
+}
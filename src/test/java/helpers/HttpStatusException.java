@@ -0,0 +1,22 @@
+package helpers;
+
+// an async API call answered with a status the caller did not expect; keeps the status and body
+// so that callers can tell a transient failure or an expected error reply from a real one
+public class HttpStatusException extends IllegalStateException {
+    private final int status;
+    private final String body;
+
+    public HttpStatusException(String method, String path, int expectedStatus, int status, String body) {
+        super(method + " " + path + " returned " + status + " instead of " + expectedStatus + ": " + body);
+        this.status = status;
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
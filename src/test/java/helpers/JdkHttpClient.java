@@ -0,0 +1,22 @@
+package helpers;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+public class JdkHttpClient {
+    // the client's worker threads must not inherit the Allure context of the test that happened to create them
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(Long.getLong("http.connectTimeoutMs", 10_000)))
+            .executor(Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(null, runnable, "jdk-http-client", 0, false);
+                thread.setDaemon(true);
+                return thread;
+            }))
+            .build();
+
+    public static HttpClient get() {
+        return CLIENT;
+    }
+}
\ No newline at end of file
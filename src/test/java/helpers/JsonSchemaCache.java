@@ -0,0 +1,72 @@
+package helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeDiagnosingMatcher;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class JsonSchemaCache {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.byDefault();
+    private static final ConcurrentMap<Class<?>, JsonSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    public static JsonSchema getSchema(Class<?> model) {
+        return SCHEMAS.computeIfAbsent(model, JsonSchemaCache::compile);
+    }
+
+    public static Matcher<String> matchesSchemaOf(Class<?> model) {
+        return new SchemaMatcher(model.getSimpleName(), getSchema(model));
+    }
+
+    // loaded by URI rather than from a parsed tree, so that relative $refs such as "BookModel.json#"
+    // resolve against the schemas directory
+    private static JsonSchema compile(Class<?> model) {
+        String path = "/schemas/" + model.getSimpleName() + ".json";
+        if (JsonSchemaCache.class.getResource(path) == null) {
+            throw new IllegalArgumentException("JSON schema not found: " + path);
+        }
+        try {
+            return FACTORY.getJsonSchema("resource:" + path);
+        } catch (ProcessingException e) {
+            throw new IllegalStateException("Invalid JSON schema " + path, e);
+        }
+    }
+
+    private static class SchemaMatcher extends TypeSafeDiagnosingMatcher<String> {
+        private final String name;
+        private final JsonSchema schema;
+
+        SchemaMatcher(String name, JsonSchema schema) {
+            this.name = name;
+            this.schema = schema;
+        }
+
+        @Override
+        protected boolean matchesSafely(String body, Description mismatch) {
+            ProcessingReport report;
+            try {
+                report = schema.validate(MAPPER.readTree(body));
+            } catch (IOException | ProcessingException e) {
+                mismatch.appendText("body could not be validated: ").appendText(e.getMessage());
+                return false;
+            }
+            if (!report.isSuccess()) {
+                mismatch.appendText(report.toString());
+            }
+            return report.isSuccess();
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("body matching JSON schema of ").appendText(name);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package helpers;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class LatencyRegistry {
+    // paths carrying ids are mostly seen once, so the cache stops growing at this size and they fall back to templating
+    private static final int MAX_CACHED_PATHS = Integer.getInteger("latency.cachedPaths", 10_000);
+    private static final ConcurrentMap<String, Endpoint> ENDPOINTS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, ConcurrentMap<String, Endpoint>> ENDPOINTS_BY_METHOD_AND_PATH = new ConcurrentHashMap<>();
+
+    public static void record(String method, String path, long latencyNanos) {
+        ConcurrentMap<String, Endpoint> byPath = ENDPOINTS_BY_METHOD_AND_PATH.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        Endpoint endpoint = byPath.get(path);
+        if (endpoint == null) {
+            endpoint = ENDPOINTS.computeIfAbsent(method + " " + toTemplate(path), key -> new Endpoint());
+            if (byPath.size() < MAX_CACHED_PATHS) {
+                byPath.put(path, endpoint);
+            }
+        }
+        endpoint.recorder.recordValue(latencyNanos / 1000);
+    }
+
+    public static Map<String, Histogram> snapshot() {
+        Map<String, Histogram> snapshot = new TreeMap<>();
+        ENDPOINTS.forEach((key, endpoint) -> snapshot.put(key, endpoint.drain()));
+        return snapshot;
+    }
+
+    static String toTemplate(String path) {
+        StringBuilder template = new StringBuilder(path.length());
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start + 1);
+            if (end < 0) {
+                end = path.length();
+            }
+            String segment = path.substring(start, end);
+            template.append(isIdentifier(segment) ? "/{id}" : segment);
+            start = end;
+        }
+        return template.toString();
+    }
+
+    private static boolean isIdentifier(String segment) {
+        int length = segment.length() - 1;
+        if (length < 1) {
+            return false;
+        }
+        boolean digits = true;
+        for (int i = 1; i < segment.length(); i++) {
+            digits &= Character.isDigit(segment.charAt(i));
+        }
+        return digits || length >= 16;
+    }
+
+    private static class Endpoint {
+        final Recorder recorder = new Recorder(3);
+        final Histogram total = new Histogram(3);
+
+        synchronized Histogram drain() {
+            total.add(recorder.getIntervalHistogram());
+            return total.copy();
+        }
+    }
+}
\ No newline at end of file
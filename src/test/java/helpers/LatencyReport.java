@@ -0,0 +1,160 @@
+package helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.DataFormatException;
+
+// the summary goes to build/reports/latency and, one line per endpoint, to the Environment
+// section of the Allure report, so it does not show up as a test in the report's counts.
+// Forks of one run merge their histograms into latency-histograms.properties and every fork
+// rewrites the summaries from the merged totals, so the last one to finish leaves the whole run;
+// histograms left by an earlier build (another timing.runId) are replaced rather than merged
+public class LatencyReport implements ExtensionContext.Store.CloseableResource {
+    private static final Path OUTPUT = Paths.get(System.getProperty("latency.report", "build/reports/latency/latency-summary.json"));
+    private static final Path HISTOGRAMS = OUTPUT.resolveSibling("latency-histograms.properties");
+    private static final Path ALLURE_ENVIRONMENT = Paths.get(System.getProperty("allure.results.directory", "allure-results"), "environment.properties");
+    private static final String RUN_ID = System.getProperty("timing.runId", String.valueOf(ProcessHandle.current().pid()));
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    @Override
+    public void close() {
+        Map<String, Histogram> histograms = LatencyRegistry.snapshot();
+        if (histograms.isEmpty()) {
+            return;
+        }
+        // the summaries and the environment file are rewritten under the environment file's lock, so forks never interleave
+        try {
+            Files.createDirectories(ALLURE_ENVIRONMENT.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(ALLURE_ENVIRONMENT, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                Map<String, Histogram> merged = mergeWithOtherForks(histograms);
+                writeSummaries(merged);
+                addToAllureEnvironment(channel, merged);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Histogram> mergeWithOtherForks(Map<String, Histogram> histograms) throws IOException {
+        Map<String, Histogram> merged = new TreeMap<>();
+        Properties stored = new Properties();
+        if (Files.exists(HISTOGRAMS)) {
+            try (InputStream in = Files.newInputStream(HISTOGRAMS)) {
+                stored.load(in);
+            }
+        }
+        if (RUN_ID.equals(stored.getProperty("runId"))) {
+            for (String endpoint : stored.stringPropertyNames()) {
+                if (!endpoint.equals("runId")) {
+                    merged.put(endpoint, decode(stored.getProperty(endpoint)));
+                }
+            }
+        }
+        // a fresh auto-resizing histogram accepts values beyond the range of either side
+        histograms.forEach((endpoint, histogram) -> merged.computeIfAbsent(endpoint, key -> new Histogram(3)).add(histogram));
+        Properties updated = new Properties();
+        updated.setProperty("runId", RUN_ID);
+        merged.forEach((endpoint, histogram) -> updated.setProperty(endpoint, encode(histogram)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        updated.store(out, null);
+        write(HISTOGRAMS, out.toByteArray());
+        return merged;
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static Histogram decode(String encoded) {
+        try {
+            Histogram stored = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+            Histogram histogram = new Histogram(3);
+            histogram.add(stored);
+            return histogram;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt latency histogram in " + HISTOGRAMS, e);
+        }
+    }
+
+    private static void writeSummaries(Map<String, Histogram> histograms) {
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        StringBuilder text = new StringBuilder(String.format("%-40s %8s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms"));
+        histograms.forEach((endpoint, histogram) -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("endpoint", endpoint);
+            summary.put("count", histogram.getTotalCount());
+            text.append(String.format("%-40s %8d", endpoint, histogram.getTotalCount()));
+            for (double percentile : PERCENTILES) {
+                double millis = histogram.getValueAtPercentile(percentile) / 1000.0;
+                summary.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)), millis);
+                text.append(String.format(" %9.2f", millis));
+            }
+            summary.put("max", histogram.getMaxValue() / 1000.0);
+            text.append(String.format(" %9.2f%n", histogram.getMaxValue() / 1000.0));
+            endpoints.add(summary);
+        });
+        write(OUTPUT, toJson(Map.of("unit", "ms", "endpoints", endpoints)));
+        write(OUTPUT.resolveSibling("latency-summary.txt"), text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] toJson(Object value) {
+        try {
+            return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(Path file, byte[] content) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // the merged histograms cover every fork so far, so their lines replace whatever an earlier fork wrote
+    private static void addToAllureEnvironment(FileChannel channel, Map<String, Histogram> histograms) throws IOException {
+        ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+        while (content.hasRemaining()) {
+            if (channel.read(content) < 0) {
+                break;
+            }
+        }
+        Properties environment = new Properties();
+        environment.load(new ByteArrayInputStream(content.array()));
+        histograms.forEach((endpoint, histogram) -> environment.setProperty("Latency " + endpoint,
+                String.format(Locale.ROOT, "p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, %d requests",
+                        histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(95) / 1000.0,
+                        histogram.getValueAtPercentile(99) / 1000.0, histogram.getTotalCount())));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        environment.store(out, null);
+        channel.truncate(0);
+        ByteBuffer bytes = ByteBuffer.wrap(out.toByteArray());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes, bytes.position());
+        }
+    }
+}
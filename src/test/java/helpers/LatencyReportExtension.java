@@ -0,0 +1,13 @@
+package helpers;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+public class LatencyReportExtension implements BeforeAllCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL)
+                .getOrComputeIfAbsent(LatencyReport.class, key -> new LatencyReport(), LatencyReport.class);
+    }
+}
\ No newline at end of file
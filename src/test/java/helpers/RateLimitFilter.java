@@ -0,0 +1,24 @@
+package helpers;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+// Goes after ResilienceFilter, which runs the filters after it once per attempt: every retry takes its own slot
+// and the backoff between attempts does not hold an in-flight permit
+public class RateLimitFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        RateLimiter.acquire(requestSpec.getDerivedPath());
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            RateLimiter.release();
+        }
+    }
+}
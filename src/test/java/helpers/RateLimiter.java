@@ -0,0 +1,124 @@
+package helpers;
+
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Requests are grouped by the first path segment (Account, BookStore), each group has its own bucket
+// limited by rateLimit.<group>.rps or rateLimit.rps, 0 meaning unlimited. rateLimit.maxInFlight caps
+// requests in progress across all groups.
+// The limits are kept per JVM. Shards (shard.total) are meant to run at the same time against the same
+// site, so each shard takes its share of the rates and of the in-flight cap; Gradle test forks of one
+// build are not counted, the build does not fork more than one test JVM.
+//
+// Buckets use GCRA: the only state is the theoretical arrival time of the next request, and every caller
+// reserves its slot with a CAS and then waits outside of it, so there is no lock and no polling.
+public class RateLimiter {
+    private static final double DEFAULT_RPS = Double.parseDouble(System.getProperty("rateLimit.rps", "0"));
+    private static final int BURST = Integer.getInteger("rateLimit.burst", 10);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("rateLimit.maxInFlight", 0);
+    private static final Semaphore IN_FLIGHT = MAX_IN_FLIGHT > 0
+            ? new Semaphore(Math.max(1, MAX_IN_FLIGHT / Math.max(ShardPlan.TOTAL, 1))) : null;
+    // async callers waiting for an in-flight permit, served by release() before the permit goes back
+    private static final Queue<CompletableFuture<Void>> IN_FLIGHT_WAITERS = new ConcurrentLinkedQueue<>();
+    private static final ConcurrentMap<String, Bucket> BUCKETS = new ConcurrentHashMap<>();
+
+    public static boolean isEnabled() {
+        return DEFAULT_RPS > 0 || IN_FLIGHT != null || System.getProperties().stringPropertyNames().stream()
+                .anyMatch(name -> name.startsWith("rateLimit.") && name.endsWith(".rps"));
+    }
+
+    // reserves the next slot of the path's group and returns how long to wait for it
+    public static long reserve(String path) {
+        Bucket bucket = BUCKETS.computeIfAbsent(group(path), Bucket::create);
+        return bucket == Bucket.UNLIMITED ? 0 : bucket.reserve(System.nanoTime());
+    }
+
+    public static void acquire(String path) {
+        long delay = reserve(path);
+        if (delay > 0) {
+            LockSupport.parkNanos(delay);
+        }
+        acquireInFlight();
+    }
+
+    public static void acquireInFlight() {
+        if (IN_FLIGHT != null) {
+            IN_FLIGHT.acquireUninterruptibly();
+        }
+    }
+
+    // completes once a permit is taken, without blocking the calling thread while it waits
+    public static CompletableFuture<Void> acquireInFlightAsync() {
+        if (IN_FLIGHT == null || IN_FLIGHT.tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        IN_FLIGHT_WAITERS.add(waiter);
+        // a permit released between the tryAcquire and the add would otherwise find no waiter
+        serveWaiters();
+        return waiter;
+    }
+
+    public static void release() {
+        if (IN_FLIGHT != null) {
+            IN_FLIGHT.release();
+            serveWaiters();
+        }
+    }
+
+    private static void serveWaiters() {
+        while (!IN_FLIGHT_WAITERS.isEmpty() && IN_FLIGHT.tryAcquire()) {
+            CompletableFuture<Void> waiter = IN_FLIGHT_WAITERS.poll();
+            if (waiter == null) {
+                IN_FLIGHT.release();
+                return;
+            }
+            waiter.complete(null);
+        }
+    }
+
+    private static String group(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return path.substring(start, end < 0 ? path.length() : end).toLowerCase(Locale.ROOT);
+    }
+
+    // public for RateLimiterTests, which drive it with their own clock
+    public static class Bucket {
+        static final Bucket UNLIMITED = new Bucket(0, 1, 0);
+
+        final long intervalNanos;
+        final long toleranceNanos;
+        final AtomicLong theoreticalArrival;
+
+        public Bucket(long intervalNanos, int burst, long now) {
+            this.intervalNanos = intervalNanos;
+            this.toleranceNanos = intervalNanos * (Math.max(burst, 1) - 1);
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        static Bucket create(String group) {
+            double rps = Double.parseDouble(System.getProperty("rateLimit." + group + ".rps", String.valueOf(DEFAULT_RPS)))
+                    / Math.max(ShardPlan.TOTAL, 1);
+            return rps > 0 ? new Bucket((long) (TimeUnit.SECONDS.toNanos(1) / rps), BURST, System.nanoTime()) : UNLIMITED;
+        }
+
+        public long reserve(long now) {
+            while (true) {
+                long arrival = theoreticalArrival.get();
+                long next = (arrival - now > 0 ? arrival : now) + intervalNanos;
+                if (theoreticalArrival.compareAndSet(arrival, next)) {
+                    return Math.max(0, arrival - toleranceNanos - now);
+                }
+            }
+        }
+    }
+}
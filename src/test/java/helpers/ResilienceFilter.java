@@ -0,0 +1,148 @@
+package helpers;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.internal.RequestSpecificationImpl;
+import io.restassured.internal.filter.FilterContextImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// REST Assured walks one iterator over the filters, so after the first attempt ctx.next() has nothing left to run.
+// Every attempt therefore gets a fresh filter context over the filters after this one, the last of which sends
+// the request: per-attempt filters like RateLimitFilter go after it, per-call ones before it.
+// Idempotent requests failing with 429, 5xx or an I/O error are retried with full-jitter exponential backoff
+// while the run's retry budget lasts. Consecutive failed calls open the circuit breaker, after which requests
+// fail immediately until a single probe succeeds once the open period is over. A call counts once, after its
+// last attempt, however many retries it took. Non-idempotent calls count too: they are not retried, but a
+// 5xx or I/O error on a POST says as much about the site's health as one on a GET.
+public class ResilienceFilter implements Filter {
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    private static final int MAX_RETRIES = Integer.getInteger("resilience.maxRetries", 3);
+    private static final long BACKOFF_MS = Long.getLong("resilience.backoffMs", 100);
+    private static final long MAX_BACKOFF_MS = Long.getLong("resilience.maxBackoffMs", 2_000);
+    private static final double BUDGET_RATIO = Double.parseDouble(System.getProperty("resilience.retryBudget.ratio", "0.1"));
+    private static final long BUDGET_MIN = Long.getLong("resilience.retryBudget.min", 20);
+    private static final int BREAKER_FAILURES = Integer.getInteger("resilience.breaker.failures", 20);
+    private static final long BREAKER_OPEN_NANOS = Long.getLong("resilience.breaker.openMs", 30_000) * 1_000_000L;
+
+    private static final AtomicLong REQUESTS = new AtomicLong();
+    private static final AtomicLong RETRIES_USED = new AtomicLong();
+    private static final AtomicInteger CONSECUTIVE_FAILURES = new AtomicInteger();
+    // 0 while closed, otherwise the nanoTime at which the next probe may go through
+    private static final AtomicLong OPEN_UNTIL = new AtomicLong();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        boolean idempotent = IDEMPOTENT_METHODS.contains(requestSpec.getMethod());
+        List<Filter> chain = requestSpec.getDefinedFilters();
+        List<Filter> after = chain.subList(chain.indexOf(this) + 1, chain.size());
+        for (int attempt = 0; ; attempt++) {
+            acquirePermission(requestSpec);
+            REQUESTS.incrementAndGet();
+            Response response = null;
+            Exception error = null;
+            try {
+                response = attemptContext(requestSpec, ctx, after).next(requestSpec, responseSpec);
+            } catch (Exception e) {
+                // REST Assured rethrows the HTTP client's IOExceptions undeclared
+                if (!isIoFailure(e)) {
+                    throw e;
+                }
+                error = e;
+            }
+            if (response != null && !isRetryable(response.getStatusCode())) {
+                onSuccess();
+                return response;
+            }
+            if (!idempotent || attempt >= MAX_RETRIES || !takeRetry()) {
+                onFailure();
+                if (error != null) {
+                    throw error instanceof RuntimeException ? (RuntimeException) error : new UncheckedIOException((IOException) error);
+                }
+                return response;
+            }
+            LockSupport.parkNanos(backoffNanos(attempt, response));
+        }
+    }
+
+    public static long getRetries() {
+        return RETRIES_USED.get();
+    }
+
+    private static FilterContext attemptContext(FilterableRequestSpecification requestSpec, FilterContext ctx, List<Filter> after) {
+        FilterContextImpl context = (FilterContextImpl) ctx;
+        return (FilterContext) ((RequestSpecificationImpl) requestSpec)
+                .newFilterContext(context.getAssertionClosure(), after.iterator(), context.getProperties());
+    }
+
+    private static void acquirePermission(FilterableRequestSpecification requestSpec) {
+        long until = OPEN_UNTIL.get();
+        if (until == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        // once the open period is over exactly one caller moves the deadline forward and goes through as the probe
+        if (now - until < 0 || !OPEN_UNTIL.compareAndSet(until, now + BREAKER_OPEN_NANOS)) {
+            throw new IllegalStateException("Circuit breaker is open after " + CONSECUTIVE_FAILURES.get()
+                    + " consecutive failures, not sending " + requestSpec.getMethod() + " " + requestSpec.getDerivedPath());
+        }
+    }
+
+    private static void onSuccess() {
+        CONSECUTIVE_FAILURES.set(0);
+        OPEN_UNTIL.set(0);
+    }
+
+    private static void onFailure() {
+        if (CONSECUTIVE_FAILURES.incrementAndGet() >= BREAKER_FAILURES) {
+            OPEN_UNTIL.compareAndSet(0, System.nanoTime() + BREAKER_OPEN_NANOS);
+        }
+    }
+
+    private static boolean takeRetry() {
+        while (true) {
+            long used = RETRIES_USED.get();
+            if (used >= BUDGET_MIN + (long) (REQUESTS.get() * BUDGET_RATIO)) {
+                return false;
+            }
+            if (RETRIES_USED.compareAndSet(used, used + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static long backoffNanos(int attempt, Response response) {
+        long ceiling = Math.min(MAX_BACKOFF_MS, BACKOFF_MS << Math.min(attempt, 20));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        String retryAfter = response == null ? null : response.getHeader("Retry-After");
+        if (retryAfter != null && retryAfter.chars().allMatch(Character::isDigit)) {
+            delay = Math.max(delay, Math.min(MAX_BACKOFF_MS, Long.parseLong(retryAfter) * 1000));
+        }
+        return delay * 1_000_000L;
+    }
+
+    private static boolean isRetryable(int status) {
+        return status == 429 || status >= 500 && status != 501;
+    }
+
+    private static boolean isIoFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
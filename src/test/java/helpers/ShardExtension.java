@@ -0,0 +1,26 @@
+package helpers;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+// plain tests of other shards are already removed by ShardFilter; parameterized invocations do not exist
+// at discovery, so they are split here one by one
+public class ShardExtension implements ExecutionCondition {
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (!ShardPlan.isEnabled() || !isInvocation(context)) {
+            return ConditionEvaluationResult.enabled("not sharded");
+        }
+        int shard = ShardPlan.shardOf(context.getUniqueId());
+        return shard == ShardPlan.INDEX
+                ? ConditionEvaluationResult.enabled("runs in shard " + shard)
+                : ConditionEvaluationResult.disabled("runs in shard " + shard + " of " + ShardPlan.TOTAL);
+    }
+
+    private static boolean isInvocation(ExtensionContext context) {
+        String uniqueId = context.getUniqueId();
+        return uniqueId.startsWith("/[test-template-invocation:", uniqueId.lastIndexOf("/["));
+    }
+}
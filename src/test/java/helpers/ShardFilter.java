@@ -0,0 +1,29 @@
+package helpers;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+// Registered through META-INF/services: removes the tests of other shards from the discovered plan, so they
+// are neither run nor reported as skipped. The engine root is visited before its tests, which is where the
+// split is computed. Parameterized invocations only appear while their method runs and are left to ShardExtension.
+public class ShardFilter implements PostDiscoveryFilter {
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!ShardPlan.isEnabled()) {
+            return FilterResult.included("not sharded");
+        }
+        if (descriptor.isRoot()) {
+            ShardPlan.init(descriptor);
+            return FilterResult.included("engine");
+        }
+        if (!descriptor.isTest()) {
+            return FilterResult.included("container");
+        }
+        int shard = ShardPlan.shardOf(descriptor.getUniqueId().toString());
+        return shard == ShardPlan.INDEX
+                ? FilterResult.included("runs in shard " + shard)
+                : FilterResult.excluded("runs in shard " + shard + " of " + ShardPlan.TOTAL);
+    }
+}
@@ -0,0 +1,82 @@
+package helpers;
+
+import org.junit.platform.engine.TestDescriptor;
+
+import java.util.*;
+
+// Splits the tests of a run into shard.total shards and tells whether a test belongs to shard.index (0-based).
+// Every test of the plan and every parameterized invocation seen in previous runs is a unit estimated
+// by its median duration over the last shard.historyRuns runs against the same target in the timing history
+// (the median of all known durations when it has none), and the units are
+// packed longest first into the currently lightest shard (LPT). Every node sees the same plan and the same
+// history, so all of them compute the same split without talking to each other. Invocations that have
+// never run yet are spread by a hash of their id.
+public class ShardPlan {
+    public static final int TOTAL = Integer.getInteger("shard.total", 1);
+    public static final int INDEX = Integer.getInteger("shard.index", 0);
+
+    private static final int HISTORY_RUNS = Integer.getInteger("shard.historyRuns", 10);
+    private static final long DEFAULT_MILLIS = 1_000;
+
+    private static volatile Map<String, Integer> assignment = Map.of();
+
+    public static boolean isEnabled() {
+        return TOTAL > 1;
+    }
+
+    // called by ShardFilter with the engine root of the discovered plan, before any test is filtered out
+    public static void init(TestDescriptor root) {
+        if (INDEX < 0 || INDEX >= TOTAL) {
+            throw new IllegalArgumentException("shard.index must be in [0, " + TOTAL + ") but was " + INDEX);
+        }
+        Map<String, Long> history = TimingHistory.testDurations(HISTORY_RUNS);
+        Set<String> planIds = new HashSet<>();
+        List<String> tests = new ArrayList<>();
+        for (TestDescriptor descriptor : root.getDescendants()) {
+            String id = descriptor.getUniqueId().toString();
+            planIds.add(id);
+            if (descriptor.isTest()) {
+                tests.add(id);
+            }
+        }
+        for (String id : history.keySet()) {
+            int parentEnd = id.lastIndexOf("/[");
+            if (!planIds.contains(id) && parentEnd > 0 && planIds.contains(id.substring(0, parentEnd))) {
+                tests.add(id);
+            }
+        }
+        long defaultMillis = median(history.values());
+        tests.sort(Comparator.comparingLong((String id) -> history.getOrDefault(id, defaultMillis)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        long[] loads = new long[TOTAL];
+        Map<String, Integer> shards = new HashMap<>(assignment);
+        for (String id : tests) {
+            int lightest = 0;
+            for (int shard = 1; shard < TOTAL; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += history.getOrDefault(id, defaultMillis);
+            shards.put(id, lightest);
+        }
+        assignment = shards;
+    }
+
+    public static int shardOf(String uniqueId) {
+        Integer shard = assignment.get(uniqueId);
+        return shard != null ? shard : Math.floorMod(uniqueId.hashCode(), TOTAL);
+    }
+
+    public static boolean runsHere(String uniqueId) {
+        return shardOf(uniqueId) == INDEX;
+    }
+
+    private static long median(Collection<Long> values) {
+        if (values.isEmpty()) {
+            return DEFAULT_MILLIS;
+        }
+        long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,61 @@
+package helpers;
+
+import io.qameta.allure.Allure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Allure steps declared with the steps whose results they take. A step starts on a fixture thread as soon as
+// it is declared and waits only for its own inputs, so independent steps run concurrently and a scenario takes
+// as long as its longest chain. Every step thread is started by the declaring thread and so inherits its Allure
+// context: all steps land under the test (or the step open at declaration), whichever thread finished their inputs.
+// A step whose input failed is not run and fails with the same error.
+// Meant for a test's setup: the request the test checks is sent on the test thread once join() returns.
+public class StepGraph {
+    private final List<CompletableFuture<?>> steps = new ArrayList<>();
+
+    public <T> Step<T> step(String name, Supplier<T> action) {
+        return add(FixtureExecutor.supply(() -> Allure.step(name, action::get)));
+    }
+
+    public <A, T> Step<T> step(String name, Step<A> input, Function<A, T> action) {
+        return add(FixtureExecutor.supply(() -> {
+            A a = input.get();
+            return Allure.step(name, () -> action.apply(a));
+        }));
+    }
+
+    public <A, B, T> Step<T> step(String name, Step<A> first, Step<B> second, BiFunction<A, B, T> action) {
+        return add(FixtureExecutor.supply(() -> {
+            A a = first.get();
+            B b = second.get();
+            return Allure.step(name, () -> action.apply(a, b));
+        }));
+    }
+
+    // waits for every declared step and rethrows the first failure with the others suppressed
+    public void join() {
+        FixtureExecutor.joinAll(steps);
+    }
+
+    private <T> Step<T> add(CompletableFuture<T> future) {
+        steps.add(future);
+        return new Step<>(future);
+    }
+
+    public static class Step<T> {
+        private final CompletableFuture<T> future;
+
+        Step(CompletableFuture<T> future) {
+            this.future = future;
+        }
+
+        public T get() {
+            return FixtureExecutor.join(future);
+        }
+    }
+}
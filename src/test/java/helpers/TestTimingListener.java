@@ -0,0 +1,57 @@
+package helpers;
+
+import org.HdrHistogram.Histogram;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Registered through META-INF/services: after the run stores the duration of every test, which the next shard
+// split is based on, and the endpoint latencies in the timing history
+public class TestTimingListener implements TestExecutionListener {
+    private static final long RUN_ID = Long.getLong("timing.runId", System.currentTimeMillis());
+
+    private final Map<String, Long> started = new ConcurrentHashMap<>();
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (testIdentifier.isTest()) {
+            started.put(testIdentifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        Long start = started.remove(testIdentifier.getUniqueId());
+        // aborted tests say nothing about how long the test takes
+        if (start != null && testExecutionResult.getStatus() != TestExecutionResult.Status.ABORTED) {
+            durations.put(testIdentifier.getUniqueId(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        List<TimingHistory.Sample> samples = new ArrayList<>();
+        durations.forEach((id, millis) -> samples.add(new TimingHistory.Sample(TimingHistory.testSeries(id), 1, millis, millis)));
+        for (Map.Entry<String, Histogram> endpoint : LatencyRegistry.snapshot().entrySet()) {
+            Histogram histogram = endpoint.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            samples.add(new TimingHistory.Sample(TimingHistory.endpointSeries(endpoint.getKey()), (int) histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50) / 1000f, histogram.getValueAtPercentile(95) / 1000f));
+        }
+        if (!samples.isEmpty()) {
+            samples.add(new TimingHistory.Sample(TimingHistory.shardSeries(ShardPlan.INDEX, ShardPlan.TOTAL), 1, 0, 0));
+        }
+        TimingHistory.append(RUN_ID, samples);
+        durations.clear();
+    }
+}
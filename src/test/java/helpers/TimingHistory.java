@@ -0,0 +1,217 @@
+package helpers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// Timings of every run: timings.bin holds fixed-size records [run id, series id, count, median ms, p95 ms]
+// after an 8-byte header, series.txt holds the series names, the line number being the series id.
+// A series is "test <unique id> @ <target>" or "endpoint <method> <path template> @ <target>", the target being
+// the emulator, a cassette replay or the base URL of the stand, so timings of different targets are never
+// compared with each other. Runs are appended in order, so
+// the latest runs are read from the end of the mapped file without touching the rest of the history.
+// Forks and shards of one run share the run id and append under the lock of timings.bin; every fork also
+// appends a "shard <index> of <total>" series, so a run whose shards have not all finished can be told apart.
+public class TimingHistory {
+    public static final Path DIR = Paths.get(System.getProperty("timing.dir", "timing-history"));
+    public static final Path TIMINGS = DIR.resolve("timings.bin");
+    public static final Path SERIES = DIR.resolve("series.txt");
+    // read from the properties only: resolving DemoqaSpecs.BASE_URI would start the emulator during discovery
+    public static final String TARGET = Cassette.isReplaying() ? "replay"
+            : Boolean.getBoolean("emulator") ? "emulator"
+            : System.getProperty("baseUrl", "https://demoqa.com");
+
+    private static final int MAGIC = 0x544d4831;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 24;
+    private static final String TEST_PREFIX = "test ";
+    private static final String SHARD_PREFIX = "shard ";
+    private static final String TARGET_SUFFIX = " @ " + TARGET;
+
+    public static void append(long runId, List<Sample> samples) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(DIR);
+            try (FileChannel channel = FileChannel.open(TIMINGS, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                List<String> names = readSeries();
+                Map<String, Integer> ids = new HashMap<>();
+                for (int i = 0; i < names.size(); i++) {
+                    ids.put(names.get(i), i);
+                }
+                List<String> added = new ArrayList<>();
+                ByteBuffer records = ByteBuffer.allocate(samples.size() * RECORD_SIZE);
+                for (Sample sample : samples) {
+                    Integer id = ids.get(sample.series);
+                    if (id == null) {
+                        id = names.size() + added.size();
+                        ids.put(sample.series, id);
+                        added.add(sample.series);
+                    }
+                    records.putLong(runId).putInt(id).putInt(sample.count).putFloat(sample.medianMs).putFloat(sample.p95Ms);
+                }
+                if (!added.isEmpty()) {
+                    Files.write(SERIES, added, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                long size = channel.size();
+                if (size < HEADER_SIZE) {
+                    writeFully(channel, ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip(), 0);
+                    size = HEADER_SIZE;
+                }
+                // a record torn by a crash is dropped rather than shifting every later record
+                size -= (size - HEADER_SIZE) % RECORD_SIZE;
+                writeFully(channel, records.flip(), size);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String testSeries(String uniqueId) {
+        return TEST_PREFIX + uniqueId + TARGET_SUFFIX;
+    }
+
+    public static String endpointSeries(String endpoint) {
+        return "endpoint " + endpoint + TARGET_SUFFIX;
+    }
+
+    public static String shardSeries(int index, int total) {
+        return SHARD_PREFIX + index + " of " + total;
+    }
+
+    // median duration in ms of every test over the last runs against the current target, keyed by unique id
+    public static Map<String, Long> testDurations(int runs) {
+        Map<String, List<Float>> samples = new HashMap<>();
+        try {
+            for (Record record : readLastRuns(runs)) {
+                if (record.series.startsWith(TEST_PREFIX) && record.series.endsWith(TARGET_SUFFIX)) {
+                    samples.computeIfAbsent(record.series.substring(TEST_PREFIX.length(), record.series.length() - TARGET_SUFFIX.length()),
+                            key -> new ArrayList<>()).add(record.medianMs);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<String, Long> durations = new HashMap<>();
+        samples.forEach((id, millis) -> {
+            Collections.sort(millis);
+            durations.put(id, millis.get(millis.size() / 2).longValue());
+        });
+        return durations;
+    }
+
+    // records of the last runs, oldest first, read backwards from the end of the file
+    public static List<Record> readLastRuns(int runs) throws IOException {
+        if (!Files.exists(TIMINGS)) {
+            return List.of();
+        }
+        Deque<Record> records = new ArrayDeque<>();
+        // shared lock: a fork or shard finishing its run may be appending records and series names
+        try (FileChannel channel = FileChannel.open(TIMINGS, StandardOpenOption.READ);
+             FileLock ignored = channel.lock(0, Long.MAX_VALUE, true)) {
+            List<String> names = readSeries();
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+                throw new IllegalStateException(TIMINGS + " is not a timing history");
+            }
+            int count = (data.limit() - HEADER_SIZE) / RECORD_SIZE;
+            Set<Long> seenRuns = new HashSet<>();
+            for (int i = count - 1; i >= 0; i--) {
+                int position = HEADER_SIZE + i * RECORD_SIZE;
+                long runId = data.getLong(position);
+                if (seenRuns.add(runId) && seenRuns.size() > runs) {
+                    break;
+                }
+                int seriesId = data.getInt(position + 8);
+                records.addFirst(new Record(runId, seriesId < names.size() ? names.get(seriesId) : "#" + seriesId,
+                        data.getInt(position + 12), data.getFloat(position + 16), data.getFloat(position + 20)));
+            }
+        }
+        return new ArrayList<>(records);
+    }
+
+    // records of the last runs all of whose shards appended theirs, oldest first, without the shard series;
+    // runs recorded before shards were tracked count as complete
+    public static List<Record> readLastCompleteRuns(int runs) throws IOException {
+        for (int read = runs; ; read *= 2) {
+            List<Record> records = readLastRuns(read);
+            Map<Long, Set<Integer>> shards = new LinkedHashMap<>();
+            Map<Long, Integer> totals = new HashMap<>();
+            for (Record record : records) {
+                Set<Integer> seen = shards.computeIfAbsent(record.runId, key -> new HashSet<>());
+                if (record.series.startsWith(SHARD_PREFIX)) {
+                    String[] shard = record.series.substring(SHARD_PREFIX.length()).split(" of ");
+                    seen.add(Integer.parseInt(shard[0]));
+                    totals.put(record.runId, Integer.parseInt(shard[1]));
+                }
+            }
+            List<Long> complete = new ArrayList<>();
+            shards.forEach((runId, seen) -> {
+                if (!totals.containsKey(runId) || seen.size() == totals.get(runId)) {
+                    complete.add(runId);
+                }
+            });
+            if (complete.size() >= runs || shards.size() < read) {
+                Set<Long> kept = new HashSet<>(complete.subList(Math.max(0, complete.size() - runs), complete.size()));
+                List<Record> result = new ArrayList<>();
+                for (Record record : records) {
+                    if (kept.contains(record.runId) && !record.series.startsWith(SHARD_PREFIX)) {
+                        result.add(record);
+                    }
+                }
+                return result;
+            }
+        }
+    }
+
+    private static List<String> readSeries() throws IOException {
+        return Files.exists(SERIES) ? new ArrayList<>(Files.readAllLines(SERIES, StandardCharsets.UTF_8)) : new ArrayList<>();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    public static class Sample {
+        final String series;
+        final int count;
+        final float medianMs;
+        final float p95Ms;
+
+        public Sample(String series, int count, float medianMs, float p95Ms) {
+            this.series = series;
+            this.count = count;
+            this.medianMs = medianMs;
+            this.p95Ms = p95Ms;
+        }
+    }
+
+    public static class Record {
+        public final long runId;
+        public final String series;
+        public final int count;
+        public final float medianMs;
+        public final float p95Ms;
+
+        Record(long runId, String series, int count, float medianMs, float p95Ms) {
+            this.runId = runId;
+            this.series = series;
+            this.count = count;
+            this.medianMs = medianMs;
+            this.p95Ms = p95Ms;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package helpers;
+
+import java.io.IOException;
+import java.util.*;
+
+// Compares the latest run in the timing history with the runs before it, counting only runs all of whose
+// shards have appended their timings, so a CI build is compared once its last shard has finished. For every test and endpoint
+// the baseline is the median of its per-run medians over the last timing.baselineRuns runs, with the spread
+// measured as the median absolute deviation (MAD) so that a single slow run does not move it. A series
+// regressed when its robust z-score (current - median) / (1.4826 * MAD) is above timing.threshold and it
+// is at least timing.minIncrease slower than the median.
+public class TimingRegressionReport {
+    private static final int BASELINE_RUNS = Integer.getInteger("timing.baselineRuns", 20);
+    private static final int MIN_RUNS = Integer.getInteger("timing.minRuns", 5);
+    private static final double THRESHOLD = Double.parseDouble(System.getProperty("timing.threshold", "3"));
+    private static final double MIN_INCREASE = Double.parseDouble(System.getProperty("timing.minIncrease", "0.1"));
+    // keeps sub-millisecond noise from making a flat series infinitely sensitive
+    private static final double MIN_SPREAD_MS = 0.5;
+
+    public static void main(String[] args) throws IOException {
+        List<TimingHistory.Record> records = TimingHistory.readLastCompleteRuns(BASELINE_RUNS + 1);
+        if (records.isEmpty()) {
+            System.out.println("No complete run in the timing history in " + TimingHistory.DIR.toAbsolutePath());
+            return;
+        }
+        long currentRun = records.get(records.size() - 1).runId;
+        // forks and shards of one run each append their own record of a series, weighted by request count here
+        Map<String, Map<Long, double[]>> series = new TreeMap<>();
+        for (TimingHistory.Record record : records) {
+            double[] sum = series.computeIfAbsent(record.series, key -> new HashMap<>())
+                    .computeIfAbsent(record.runId, key -> new double[2]);
+            sum[0] += (double) record.medianMs * record.count;
+            sum[1] += record.count;
+        }
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("Run %d against up to %d previous runs%n", currentRun, BASELINE_RUNS);
+        System.out.printf("%-70s %5s %10s %10s %10s %7s%n", "series", "runs", "median ms", "MAD ms", "now ms", "z");
+        series.forEach((name, runs) -> {
+            double[] current = runs.remove(currentRun);
+            if (current == null || current[1] == 0 || runs.size() < MIN_RUNS) {
+                return;
+            }
+            double[] baseline = runs.values().stream().mapToDouble(sum -> sum[0] / sum[1]).sorted().toArray();
+            double median = median(baseline);
+            double mad = median(Arrays.stream(baseline).map(value -> Math.abs(value - median)).sorted().toArray());
+            double now = current[0] / current[1];
+            double z = (now - median) / Math.max(1.4826 * mad, MIN_SPREAD_MS);
+            boolean regressed = z > THRESHOLD && now > median * (1 + MIN_INCREASE);
+            String line = String.format("%-70s %5d %10.2f %10.2f %10.2f %7.1f%s", shorten(name), baseline.length,
+                    median, mad, now, z, regressed ? "  REGRESSION" : "");
+            System.out.println(line);
+            if (regressed) {
+                regressions.add(line);
+            }
+        });
+        System.out.println(regressions.isEmpty() ? "No regressions" : regressions.size() + " regression(s):");
+        regressions.forEach(System.out::println);
+        if (!regressions.isEmpty() && Boolean.getBoolean("timing.failOnRegression")) {
+            System.exit(1);
+        }
+    }
+
+    private static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static String shorten(String series) {
+        return series.replace("[engine:junit-jupiter]/", "").replaceAll("\\[[a-z-]+:([^]]*)]", "$1");
+    }
+}
@@ -0,0 +1,97 @@
+package helpers;
+
+import api.RegistrationApi;
+import models.GenerateTokenResponseModel;
+import models.LoginRequestModel;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class TokenCache {
+    private static final Duration SAFETY_MARGIN = Duration.ofSeconds(Long.getLong("tokenCache.safetyMarginSec", 60));
+    private static final Duration REFRESH_AHEAD = Duration.ofSeconds(Long.getLong("tokenCache.refreshAheadSec", 600));
+    private static final ConcurrentMap<LoginRequestModel, CompletableFuture<CachedToken>> TOKENS = new ConcurrentHashMap<>();
+    // refresh threads must not inherit the Allure step context of the test that happened to start them
+    private static final ExecutorService REFRESHER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(null, runnable, "token-refresher", 0, false);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public static String getToken(String userName, String password) {
+        LoginRequestModel key = new LoginRequestModel(userName, password);
+        while (true) {
+            CompletableFuture<CachedToken> created = new CompletableFuture<>();
+            CompletableFuture<CachedToken> future = TOKENS.putIfAbsent(key, created);
+            if (future == null) {
+                future = created;
+                complete(created, key);
+            }
+            CachedToken token;
+            try {
+                token = future.join();
+            } catch (CompletionException e) {
+                TOKENS.remove(key, future);
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+            Instant now = Instant.now();
+            if (now.isBefore(token.expires.minus(SAFETY_MARGIN))) {
+                if (now.isAfter(token.expires.minus(REFRESH_AHEAD))) {
+                    refreshInBackground(key, future, token);
+                }
+                return token.value;
+            }
+            TOKENS.remove(key, future);
+        }
+    }
+
+    public static void invalidate(String userName, String password) {
+        TOKENS.remove(new LoginRequestModel(userName, password));
+    }
+
+    private static void complete(CompletableFuture<CachedToken> future, LoginRequestModel key) {
+        try {
+            future.complete(generate(key));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static void refreshInBackground(LoginRequestModel key, CompletableFuture<CachedToken> current, CachedToken token) {
+        if (!token.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.supplyAsync(() -> generate(key), REFRESHER).whenComplete((fresh, error) -> {
+            if (error == null) {
+                TOKENS.replace(key, current, CompletableFuture.completedFuture(fresh));
+            } else {
+                token.refreshing.set(false);
+            }
+        });
+    }
+
+    private static CachedToken generate(LoginRequestModel key) {
+        GenerateTokenResponseModel response = Cassette.inFixtureScope(() ->
+                RegistrationApi.generateToken(key.getUserName(), key.getPassword()));
+        if (response.getToken() == null || response.getExpires() == null) {
+            throw new IllegalStateException("Unable to generate token for user " + key.getUserName() + ": " + response.getResult());
+        }
+        return new CachedToken(response.getToken(), Instant.parse(response.getExpires()));
+    }
+
+    private static class CachedToken {
+        final String value;
+        final Instant expires;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        CachedToken(String value, Instant expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package helpers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// append-only record of the users a JVM registers and deletes, one file per JVM.
+// A record is [length][type, fields...][crc32] and its length is written last, so a crash
+// leaves at most one incomplete record at the tail, which replay detects and ignores.
+// Deleting a user takes a token, and a token takes the user's password, so created records keep the
+// password of the generated test user in plain text: the ledger lives outside the project and on POSIX
+// file systems is readable by its owner only. Users of the in-process emulator and of cassette replays
+// do not outlive the run and are not recorded
+public class UserLedger implements AutoCloseable {
+    public static final Path DIR = Paths.get(System.getProperty("userLedger.dir",
+            Paths.get(System.getProperty("user.home"), ".demoqa-tests", "user-ledger").toString()));
+
+    private static final int MAGIC = 0x554c4732;
+    private static final int CHUNK_SIZE = 1 << 20;
+    private static final byte CREATED = 1;
+    private static final byte DELETED = 2;
+
+    private final Path file;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long bufferOffset;
+
+    public UserLedger(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (Files.getFileStore(file).supportsFileAttributeView("posix")) {
+                Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+            }
+            map(0);
+            buffer.putInt(MAGIC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static UserLedger current() {
+        return Holder.INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return !Boolean.getBoolean("emulator") && !Cassette.isReplaying();
+    }
+
+    public static long ownerPid(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring("ledger-".length(), name.indexOf('-', "ledger-".length())));
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void created(String baseUrl, String userId, String userName, String password) {
+        append(CREATED, userId, baseUrl, userName, password);
+    }
+
+    public void deleted(String userId) {
+        append(DELETED, userId);
+    }
+
+    private synchronized void append(byte type, String... fields) {
+        byte[][] encoded = new byte[fields.length][];
+        int length = 1;
+        for (int i = 0; i < fields.length; i++) {
+            encoded[i] = fields[i].getBytes(StandardCharsets.UTF_8);
+            length += 2 + encoded[i].length;
+        }
+        if (buffer.remaining() < length + 12) {
+            map(bufferOffset + buffer.position());
+        }
+        int start = buffer.position();
+        buffer.position(start + 4);
+        buffer.put(type);
+        for (byte[] field : encoded) {
+            buffer.putShort((short) field.length).put(field);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(start + 4).limit(start + 4 + length));
+        buffer.putInt((int) crc.getValue());
+        buffer.putInt(start, length);
+    }
+
+    private void map(long offset) {
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, offset, CHUNK_SIZE);
+            bufferOffset = offset;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // users created in the file and not confirmed deleted, by user id in creation order
+    public static Map<String, User> replay(Path file) throws IOException {
+        Map<String, User> users = new LinkedHashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (data.remaining() < 4 || data.getInt() != MAGIC) {
+                return users;
+            }
+            CRC32 crc = new CRC32();
+            while (data.remaining() >= 4) {
+                int length = data.getInt();
+                if (length <= 0 || length + 4 > data.remaining()) {
+                    break;
+                }
+                ByteBuffer record = data.slice().limit(length);
+                data.position(data.position() + length);
+                crc.reset();
+                crc.update(record.duplicate());
+                if ((int) crc.getValue() != data.getInt()) {
+                    break;
+                }
+                byte type = record.get();
+                String userId = readString(record);
+                if (type == CREATED) {
+                    users.put(userId, new User(userId, readString(record), readString(record), readString(record)));
+                } else if (type == DELETED) {
+                    users.remove(userId);
+                }
+            }
+        }
+        return users;
+    }
+
+    private static String readString(ByteBuffer record) {
+        byte[] bytes = new byte[record.getShort() & 0xffff];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static class User {
+        public final String userId;
+        public final String baseUrl;
+        public final String userName;
+        public final String password;
+
+        User(String userId, String baseUrl, String userName, String password) {
+            this.userId = userId;
+            this.baseUrl = baseUrl;
+            this.userName = userName;
+            this.password = password;
+        }
+    }
+
+    private static class Holder {
+        private static final UserLedger INSTANCE = create();
+
+        private static UserLedger create() {
+            UserLedger ledger = new UserLedger(DIR.resolve("ledger-" + ProcessHandle.current().pid() + "-" + System.currentTimeMillis() + ".bin"));
+            Runtime.getRuntime().addShutdownHook(new Thread(ledger::close));
+            return ledger;
+        }
+    }
+}
\ No newline at end of file
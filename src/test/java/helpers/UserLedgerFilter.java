@@ -0,0 +1,45 @@
+package helpers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+public class UserLedgerFilter implements Filter {
+    private static final String USER_PATH = "/Account/v1/User";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        String method = requestSpec.getMethod();
+        String path = requestSpec.getDerivedPath();
+        if ("POST".equals(method) && USER_PATH.equals(path) && response.getStatusCode() == 201) {
+            JsonNode request = readBody(requestSpec.getBody());
+            UserLedger.current().created(requestSpec.getBaseUri(), response.jsonPath().getString("userID"),
+                    request.path("userName").asText(), request.path("password").asText());
+        } else if ("DELETE".equals(method) && path.startsWith(USER_PATH + "/") && response.getStatusCode() == 204) {
+            UserLedger.current().deleted(path.substring(USER_PATH.length() + 1));
+        }
+        return response;
+    }
+
+    private static JsonNode readBody(Object body) {
+        try {
+            return body instanceof byte[]
+                    ? MAPPER.readTree((byte[]) body)
+                    : MAPPER.readTree(String.valueOf(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package helpers;
+
+import api.AsyncRegistrationApi;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// deletes the users left behind by finished or crashed JVMs and replaces their ledgers
+// with a single compacted one holding only the users that still could not be deleted
+public class UserLedgerSweeper {
+
+    public static void main(String[] args) throws IOException {
+        if (!Files.isDirectory(UserLedger.DIR)) {
+            System.out.println("No user ledgers in " + UserLedger.DIR.toAbsolutePath());
+            return;
+        }
+        List<Path> ledgers;
+        try (Stream<Path> files = Files.list(UserLedger.DIR)) {
+            ledgers = files.filter(file -> file.getFileName().toString().matches("ledger-\\d+-\\d+\\.bin"))
+                    .filter(file -> ProcessHandle.of(UserLedger.ownerPid(file)).isEmpty())
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        Map<String, UserLedger.User> users = new LinkedHashMap<>();
+        for (Path ledger : ledgers) {
+            users.putAll(UserLedger.replay(ledger));
+        }
+        // every user is deleted on the site it was created on, whatever this run points at
+        BatchResult<UserLedger.User> result = BatchExecutor.run(new ArrayList<>(users.values()), true, user ->
+                AsyncRegistrationApi.generateToken(user.baseUrl, user.userName, user.password)
+                        .thenCompose(token -> token.getToken() == null
+                                // credentials no longer work: the user is already gone
+                                ? CompletableFuture.<Void>completedFuture(null)
+                                // the swept ledgers are replaced below, recording the deletions anywhere would only
+                                // leave a new ledger behind
+                                : AsyncRegistrationApi.deleteUser(user.baseUrl, user.userId, user.userName, user.password,
+                                        token.getToken(), null)));
+        Map<UserLedger.User, Throwable> failures = result.getFailures();
+        if (!failures.isEmpty()) {
+            UserLedger compacted = UserLedger.current();
+            failures.keySet().forEach(user -> compacted.created(user.baseUrl, user.userId, user.userName, user.password));
+            compacted.close();
+        }
+        for (Path ledger : ledgers) {
+            Files.delete(ledger);
+        }
+        System.out.printf("Swept %d ledgers: %d users deleted, %d left for the next run%n",
+                ledgers.size(), result.getSucceeded().size(), failures.size());
+        System.exit(0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package helpers;
+
+import api.BooksApi;
+import api.BulkApi;
+import api.RegistrationApi;
+import models.TestUserModel;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import utils.TestData;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class UserPool implements ExtensionContext.Store.CloseableResource {
+    private static final int SIZE = Integer.getInteger("userPool.size", 4);
+    private static final int CONCURRENCY = Integer.getInteger("userPool.concurrency", 8);
+
+    private final TestData data = new TestData();
+    private final Queue<TestUserModel> all = new ConcurrentLinkedQueue<>();
+    private final Queue<TestUserModel> clean = new ConcurrentLinkedQueue<>();
+    private final Queue<TestUserModel> used = new ConcurrentLinkedQueue<>();
+    // users leased by the running test, inheritable so that leases made on its step graph threads are kept too
+    private static final InheritableThreadLocal<Queue<TestUserModel>> TEST_LEASES = new InheritableThreadLocal<>();
+
+    // the pool is shared by all tests, so its traffic is recorded in the cassette's fixture scope
+    private UserPool(int size) {
+        Cassette.inFixtureScope(() ->
+                clean.addAll(runConcurrently(IntStream.range(0, size).boxed().collect(Collectors.toList()), index -> create())));
+    }
+
+    public static UserPool getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public static TestUserModel lease() {
+        UserPool pool = getInstance();
+        TestUserModel user = Cassette.inFixtureScope(pool::leaseUser);
+        Queue<TestUserModel> leases = TEST_LEASES.get();
+        if (leases != null) {
+            leases.add(user);
+        }
+        return user;
+    }
+
+    public static void startTest() {
+        TEST_LEASES.set(new ConcurrentLinkedQueue<>());
+    }
+
+    // the users the test leased, for UserPoolExtension to release
+    public static List<TestUserModel> finishTest() {
+        Queue<TestUserModel> leases = TEST_LEASES.get();
+        TEST_LEASES.remove();
+        return leases == null ? List.of() : List.copyOf(leases);
+    }
+
+    public static void release(TestUserModel user) {
+        getInstance().used.offer(user);
+    }
+
+    private TestUserModel leaseUser() {
+        TestUserModel user = clean.poll();
+        if (user != null) {
+            return withFreshToken(user);
+        }
+        user = used.poll();
+        if (user != null) {
+            withFreshToken(user);
+            BooksApi.deleteAllBooks(user.getUserId(), user.getToken());
+            return user;
+        }
+        return create();
+    }
+
+    private static TestUserModel withFreshToken(TestUserModel user) {
+        user.setToken(TokenCache.getToken(user.getUserName(), user.getPassword()));
+        return user;
+    }
+
+    private TestUserModel create() {
+        String userName = data.getUserName();
+        String password = data.getPassword();
+        String userId = RegistrationApi.registerUser(userName, password).getUserId();
+        String token = TokenCache.getToken(userName, password);
+        TestUserModel user = new TestUserModel(userName, password, userId, token);
+        all.add(user);
+        return user;
+    }
+
+    @Override
+    public void close() {
+        List<TestUserModel> users = List.copyOf(all);
+        all.clear();
+        clean.clear();
+        used.clear();
+        users.forEach(user -> TokenCache.invalidate(user.getUserName(), user.getPassword()));
+        Cassette.inFixtureScope(() -> BulkApi.deleteUsers(users).throwIfFailed("Deleting pool users"));
+    }
+
+    private static <T, R> List<R> runConcurrently(List<T> items, Function<T, R> action) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        Semaphore permits = new Semaphore(CONCURRENCY);
+        return FixtureExecutor.joinAll(items.stream()
+                .map(item -> FixtureExecutor.supply(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        return action.apply(item);
+                    } finally {
+                        permits.release();
+                    }
+                }))
+                .collect(Collectors.toList()));
+    }
+
+    private static class Holder {
+        private static final UserPool INSTANCE = new UserPool(SIZE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package helpers;
+
+import models.TestUserModel;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.util.List;
+
+import static io.qameta.allure.Allure.step;
+
+// hands pool users to tests as TestUserModel parameters and takes back every user the test leased after it,
+// whether it passed or not and whichever thread leased it, so a failed assertion or request never keeps
+// a user out of the pool
+public class UserPoolExtension implements BeforeAllCallback, BeforeEachCallback, ParameterResolver, AfterEachCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL)
+                .getOrComputeIfAbsent(UserPool.class, key -> UserPool.getInstance(), UserPool.class);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        UserPool.startTest();
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == TestUserModel.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return step("Получить пользователя из пула", () ->
+                UserPool.lease()
+        );
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        List<TestUserModel> users = UserPool.finishTest();
+        if (!users.isEmpty()) {
+            step("Вернуть пользователя в пул", () ->
+                    users.forEach(UserPool::release)
+            );
+        }
+    }
+}
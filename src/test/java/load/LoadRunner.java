@@ -0,0 +1,64 @@
+package load;
+
+import utils.ThreadUtils;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadRunner {
+    private static final double MAX_RATE = 1_000_000;
+
+    private final Scenario scenario;
+    private final double rate;
+    private final Duration duration;
+
+    public LoadRunner(Scenario scenario, double rate, Duration duration) {
+        // the schedule advances in whole nanoseconds, so the interval must stay well above zero
+        if (!(rate > 0 && rate <= MAX_RATE)) {
+            throw new IllegalArgumentException("load.rate must be in (0, " + (long) MAX_RATE + "] scenarios/s but was " + rate);
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("load.durationSec must be positive but was " + duration.getSeconds());
+        }
+        this.scenario = scenario;
+        this.rate = rate;
+        this.duration = duration;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.setProperty("load", "true");
+        System.setProperty("log.mode", System.getProperty("log.mode", "none"));
+        System.setProperty("allure.attachments", System.getProperty("allure.attachments", "none"));
+        LoadRunner runner = new LoadRunner(
+                Scenarios.byName(System.getProperty("load.scenario", "bookstore")),
+                Double.parseDouble(System.getProperty("load.rate", "50")),
+                Duration.ofSeconds(Long.getLong("load.durationSec", 30)));
+        runner.run();
+        // the embedded emulator's server thread would keep the JVM alive
+        System.exit(0);
+    }
+
+    public LoadStats run() throws InterruptedException {
+        LoadStats stats = new LoadStats();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        ExecutorService executor = ThreadUtils.newVirtualThreadExecutor();
+        for (long intended = start; intended < end; intended += interval) {
+            long delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            long intendedStart = intended;
+            executor.execute(() -> scenario.run(stats, intendedStart));
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("Scenario '%s' at %.1f scenarios/s for %s%n", scenario.getName(), rate, duration);
+        stats.print(System.out, elapsed);
+        return stats;
+    }
+}
\ No newline at end of file
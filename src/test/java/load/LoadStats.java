@@ -0,0 +1,45 @@
+package load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadStats {
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long latencyNanos, boolean success) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+        stats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    public void print(PrintStream out, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%-34s %9s %9s %8s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms");
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+            ConcurrentHistogram latency = entry.getValue().latency;
+            long count = latency.getTotalCount();
+            out.printf("%-34s %9d %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), count, count / seconds,
+                    count == 0 ? 0.0 : entry.getValue().errors.sum() * 100.0 / count,
+                    latency.getValueAtPercentile(50) / 1000.0,
+                    latency.getValueAtPercentile(95) / 1000.0,
+                    latency.getValueAtPercentile(99) / 1000.0,
+                    latency.getValueAtPercentile(99.9) / 1000.0);
+        }
+    }
+
+    private static class EndpointStats {
+        final ConcurrentHistogram latency = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public class Scenario {
+    private final String name;
+    private final List<Consumer<ScenarioContext>> preparations = new ArrayList<>();
+    private final List<Step> steps = new ArrayList<>();
+    private final List<Step> cleanupSteps = new ArrayList<>();
+
+    public Scenario(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // local work such as test data generation, done before the timed steps
+    public Scenario prepare(Consumer<ScenarioContext> action) {
+        preparations.add(action);
+        return this;
+    }
+
+    public Scenario step(String endpoint, Consumer<ScenarioContext> action) {
+        steps.add(new Step(endpoint, context -> true, action));
+        return this;
+    }
+
+    // a cleanup whose condition does not hold sends nothing and is not recorded
+    public Scenario cleanup(String endpoint, Predicate<ScenarioContext> condition, Consumer<ScenarioContext> action) {
+        cleanupSteps.add(new Step(endpoint, condition, action));
+        return this;
+    }
+
+    // latency of the first step is measured from the intended start time, so a lagging
+    // generator shows up as latency instead of silently lowering the offered rate;
+    // the time spent preparing is not part of it
+    void run(LoadStats stats, long intendedStartNanos) {
+        ScenarioContext context = new ScenarioContext();
+        long prepareStart = System.nanoTime();
+        preparations.forEach(preparation -> preparation.accept(context));
+        long stepStart = intendedStartNanos + (System.nanoTime() - prepareStart);
+        try {
+            for (Step step : steps) {
+                if (!step.run(stats, context, stepStart)) {
+                    return;
+                }
+                stepStart = System.nanoTime();
+            }
+        } finally {
+            for (Step step : cleanupSteps) {
+                if (step.condition.test(context)) {
+                    step.run(stats, context, System.nanoTime());
+                }
+            }
+        }
+    }
+
+    private static class Step {
+        final String endpoint;
+        final Predicate<ScenarioContext> condition;
+        final Consumer<ScenarioContext> action;
+
+        Step(String endpoint, Predicate<ScenarioContext> condition, Consumer<ScenarioContext> action) {
+            this.endpoint = endpoint;
+            this.condition = condition;
+            this.action = action;
+        }
+
+        boolean run(LoadStats stats, ScenarioContext context, long startNanos) {
+            try {
+                action.accept(context);
+                stats.record(endpoint, System.nanoTime() - startNanos, true);
+                return true;
+            } catch (Throwable e) {
+                stats.record(endpoint, System.nanoTime() - startNanos, false);
+                return false;
+            }
+        }
+    }
+}
\ No newline at end of file
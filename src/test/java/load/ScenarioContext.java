@@ -0,0 +1,15 @@
+package load;
+
+import lombok.Data;
+import models.IsbnModel;
+
+import java.util.List;
+
+@Data
+public class ScenarioContext {
+    private String userName;
+    private String password;
+    private String userId;
+    private String token;
+    private List<IsbnModel> isbns;
+}
\ No newline at end of file
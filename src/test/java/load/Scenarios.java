@@ -0,0 +1,53 @@
+package load;
+
+import api.BooksApi;
+import api.RegistrationApi;
+import helpers.BookCatalog;
+import models.IsbnModel;
+import utils.TestData;
+
+import java.util.List;
+
+public class Scenarios {
+    private static final TestData data = new TestData();
+
+    public static Scenario byName(String name) {
+        switch (name) {
+            case "bookstore":
+                return bookstore();
+            case "catalog":
+                return catalog();
+            default:
+                throw new IllegalArgumentException("Unknown load scenario: " + name);
+        }
+    }
+
+    public static Scenario bookstore() {
+        return new Scenario("bookstore")
+                .prepare(context -> {
+                    context.setUserName(data.getUserName());
+                    context.setPassword(data.getPassword());
+                    context.setIsbns(List.of(new IsbnModel(BookCatalog.getRandomBook().getIsbn())));
+                })
+                .step("POST /Account/v1/User", context ->
+                        context.setUserId(RegistrationApi.registerUser(context.getUserName(), context.getPassword()).getUserId()))
+                .step("POST /Account/v1/GenerateToken", context ->
+                        context.setToken(RegistrationApi.generateToken(context.getUserName(), context.getPassword()).getToken()))
+                .step("POST /BookStore/v1/Books", context ->
+                        BooksApi.addBooks(context.getUserId(), context.getToken(), context.getIsbns()))
+                .step("GET /Account/v1/User/{id}", context ->
+                        BooksApi.getUserBooks(context.getUserId(), context.getToken()))
+                // nothing to delete when registration failed; without a token the user is left behind, which is a failure
+                .cleanup("DELETE /Account/v1/User/{id}", context -> context.getUserId() != null, context -> {
+                    if (context.getToken() == null) {
+                        throw new IllegalStateException("No token to delete user " + context.getUserId());
+                    }
+                    RegistrationApi.deleteUser(context.getUserId(), context.getToken());
+                });
+    }
+
+    public static Scenario catalog() {
+        return new Scenario("catalog")
+                .step("GET /BookStore/v1/Books", context -> BooksApi.getAllBooks());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package models;
+
+import lombok.Data;
+
+@Data
+public class BookTitleModel {
+    private String isbn;
+    private String title;
+}
\ No newline at end of file
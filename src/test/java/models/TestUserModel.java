@@ -0,0 +1,13 @@
+package models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TestUserModel {
+    private String userName;
+    private String password;
+    private String userId;
+    private String token;
+}
\ No newline at end of file
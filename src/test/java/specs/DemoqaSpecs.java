@@ -1,29 +1,127 @@
 package specs;
 
+import emulator.DemoqaEmulator;
+import helpers.AsyncLogFilter;
+import helpers.Cassette;
+import helpers.CassetteFilter;
+import helpers.HttpClientPool;
+import helpers.JsonSchemaCache;
+import helpers.LatencyFilter;
+import helpers.RateLimitFilter;
+import helpers.RateLimiter;
+import helpers.ResilienceFilter;
+import helpers.UserLedger;
+import helpers.UserLedgerFilter;
 import io.restassured.builder.ResponseSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
+import lombok.Value;
+import org.hamcrest.Matcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static helpers.CustomAllureListener.withCustomTemplates;
 import static io.restassured.RestAssured.with;
 import static io.restassured.http.ContentType.JSON;
 
 public class DemoqaSpecs {
-    public static RequestSpecification withBodyRequestSpec = with()
-            .filter(withCustomTemplates())
-            .log().all()
-            .contentType(JSON);
+    public static final String BASE_URI = Boolean.getBoolean("emulator")
+            ? DemoqaEmulator.start()
+            : System.getProperty("baseUrl", "https://demoqa.com");
+
+    private static final boolean LOG_ALL = "all".equals(System.getProperty("log.mode", "all"));
+    // load runs measure the service as it is, retries and client-side throttling would hide its errors and queueing
+    private static final boolean LOAD = Boolean.getBoolean("load");
+    private static final RestAssuredConfig CONFIG = RestAssuredConfig.config()
+            .httpClient(HttpClientPool.httpClientConfig());
+    private static final List<Filter> FILTERS = createFilters();
+    private static final LogDetail RESPONSE_LOG_DETAIL = LOG_ALL ? LogDetail.ALL : null;
+    // built specs are only read when merged into a response, so one instance per key is shared by all threads;
+    // extra expectations go after .spec(...) on the ValidatableResponse and never touch the shared instance
+    private static final ConcurrentMap<ResponseSpecKey, ResponseSpecification> RESPONSE_SPECS = new ConcurrentHashMap<>();
 
-    public static RequestSpecification noBodyRequestSpec = with()
-            .filter(withCustomTemplates())
-            .log().uri()
-            .log().headers();
+    public static RequestSpecification withBodyRequestSpec() {
+        RequestSpecification spec = with()
+                .baseUri(BASE_URI)
+                .config(CONFIG)
+                .filters(FILTERS)
+                .contentType(JSON);
+        return LOG_ALL ? spec.log().all() : spec;
+    }
+
+    public static RequestSpecification noBodyRequestSpec() {
+        RequestSpecification spec = with()
+                .baseUri(BASE_URI)
+                .config(CONFIG)
+                .filters(FILTERS);
+        return LOG_ALL ? spec.log().uri().log().headers() : spec;
+    }
 
     public static ResponseSpecification getResponseSpecByStatusCode(int statusCode) {
-        return new ResponseSpecBuilder()
-                .log(LogDetail.ALL)
-                .expectStatusCode(statusCode)
-                .build();
+        return getResponseSpec(statusCode, RESPONSE_LOG_DETAIL, null);
+    }
+
+    public static ResponseSpecification getResponseSpecByStatusCode(int statusCode, Class<?> model) {
+        return getResponseSpec(statusCode, RESPONSE_LOG_DETAIL, model);
+    }
+
+    public static ResponseSpecification getResponseSpec(int statusCode, LogDetail logDetail, Class<?> model) {
+        return RESPONSE_SPECS.computeIfAbsent(new ResponseSpecKey(statusCode, logDetail, model), DemoqaSpecs::buildResponseSpec);
+    }
+
+    public static ResponseSpecification getResponseSpecByStatusCode(Matcher<Integer> statusCode) {
+        ResponseSpecBuilder builder = new ResponseSpecBuilder()
+                .expectStatusCode(statusCode);
+        return LOG_ALL ? builder.log(LogDetail.ALL).build() : builder.build();
+    }
+
+    private static ResponseSpecification buildResponseSpec(ResponseSpecKey key) {
+        ResponseSpecBuilder builder = new ResponseSpecBuilder()
+                .expectStatusCode(key.statusCode);
+        if (key.model != null) {
+            builder.expectBody(JsonSchemaCache.matchesSchemaOf(key.model));
+        }
+        if (key.logDetail != null) {
+            builder.log(key.logDetail);
+        }
+        return builder.build();
+    }
+
+    private static List<Filter> createFilters() {
+        List<Filter> filters = new ArrayList<>();
+        if (!"none".equals(System.getProperty("allure.attachments", "all"))) {
+            filters.add(withCustomTemplates());
+        }
+        if (AsyncLogFilter.ENABLED) {
+            filters.add(new AsyncLogFilter());
+        }
+        if (UserLedger.isEnabled()) {
+            filters.add(new UserLedgerFilter());
+        }
+        filters.add(new LatencyFilter());
+        if (Cassette.isRecording() || Cassette.isReplaying()) {
+            filters.add(new CassetteFilter());
+        }
+        if (LOAD) {
+            return List.copyOf(filters);
+        }
+        filters.add(new ResilienceFilter());
+        if (RateLimiter.isEnabled()) {
+            filters.add(new RateLimitFilter());
+        }
+        return List.copyOf(filters);
+    }
+
+    @Value
+    private static class ResponseSpecKey {
+        int statusCode;
+        LogDetail logDetail;
+        Class<?> model;
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package tests;
 
+import api.AsyncBooksApi;
+import api.AsyncRegistrationApi;
 import api.RegistrationApi;
+import helpers.HttpStatusException;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
 import models.*;
@@ -12,11 +15,14 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import utils.TestData;
 
+import java.util.List;
 import java.util.stream.Stream;
 
+import static helpers.FixtureExecutor.join;
 import static io.qameta.allure.Allure.step;
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.Matchers.emptyOrNullString;
 import static specs.DemoqaSpecs.*;
 
@@ -44,12 +50,12 @@ public class AccountTests extends BaseTest {
         String userName = data.getUserName();
         String password = data.getPassword();
         RegistrationResponseModel registrationResponse = step("Выполнить запрос на создание нового пользователя", () ->
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(new LoginRequestModel(userName, password))
                         .when()
                         .post("/Account/v1/User")
                         .then()
-                        .spec(getResponseSpecByStatusCode(201))
+                        .spec(getResponseSpecByStatusCode(201, RegistrationResponseModel.class))
                         .extract().as(RegistrationResponseModel.class)
         );
         step("Проверить, что в ответе присутствует атрибут userID и он соответствует формату UUID", () ->
@@ -75,12 +81,12 @@ public class AccountTests extends BaseTest {
         String userName = data.getUserName();
         String password = data.getRandomString(10);
         ErrorResponseModel registrationResponse = step("Выполнить запрос на создание нового пользователя", () ->
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(new LoginRequestModel(userName, password))
                         .when()
                         .post("/Account/v1/User")
                         .then()
-                        .spec(getResponseSpecByStatusCode(400))
+                        .spec(getResponseSpecByStatusCode(400, ErrorResponseModel.class))
                         .extract().as(ErrorResponseModel.class)
         );
         step("Проверить значение атрибута code в ответе с ошибкой", () ->
@@ -104,12 +110,12 @@ public class AccountTests extends BaseTest {
                 RegistrationApi.registerUser(userName, password)
         );
         ErrorResponseModel errorResponse = step("Выполнить запрос на содание пользователя с таким же userName", () ->
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(new LoginRequestModel(userName, password))
                         .when()
                         .post("/Account/v1/User")
                         .then()
-                        .spec(getResponseSpecByStatusCode(406))
+                        .spec(getResponseSpecByStatusCode(406, ErrorResponseModel.class))
                         .extract().as(ErrorResponseModel.class)
         );
         step("Проверить значение атрибута code в ответе с ошибкой", () ->
@@ -131,12 +137,12 @@ public class AccountTests extends BaseTest {
     @DisplayName("Создание пользователя. В запросе отсутствуют имя или пароль")
     void unsuccessfulRegistrationEmptyUserNameOrPasswordTest(LoginRequestModel request) {
         ErrorResponseModel errorResponse = step("Выполнить запрос на создание нового пользователя", () ->
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(request)
                         .when()
                         .post("/Account/v1/User")
                         .then()
-                        .spec(getResponseSpecByStatusCode(400))
+                        .spec(getResponseSpecByStatusCode(400, ErrorResponseModel.class))
                         .extract().as(ErrorResponseModel.class)
         );
         step("Проверить значение атрибута code в ответе с ошибкой", () ->
@@ -161,7 +167,7 @@ public class AccountTests extends BaseTest {
                 RegistrationApi.generateToken(userName, password)
         );
         Boolean isAuthorized = step("Выполнить запрос на проверку авторизации", () ->
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(new LoginRequestModel(userName, password))
                         .when()
                         .post("/Account/v1/Authorized")
@@ -188,7 +194,7 @@ public class AccountTests extends BaseTest {
                 RegistrationApi.registerUser(userName, password)
         );
         Boolean isAuthorized = step("Выполнить запрос на проверку авторизации", () ->
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(new LoginRequestModel(userName, password))
                         .when()
                         .post("/Account/v1/Authorized")
@@ -213,12 +219,12 @@ public class AccountTests extends BaseTest {
         String userName = data.getUserName();
         String password = data.getPassword();
         ErrorResponseModel errorResponse = step("Выполнить запрос на проверку авторизации для несуществующего пользователя", () ->
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(new LoginRequestModel(userName, password))
                         .when()
                         .post("/Account/v1/Authorized")
                         .then()
-                        .spec(getResponseSpecByStatusCode(404))
+                        .spec(getResponseSpecByStatusCode(404, ErrorResponseModel.class))
                         .extract().as(ErrorResponseModel.class)
         );
         step("Проверить значение атрибута code в ответе с ошибкой", () ->
@@ -243,7 +249,7 @@ public class AccountTests extends BaseTest {
                 RegistrationApi.generateToken(userName, password)
         );
         step("Выполнить запрос на удаление", () ->
-                given(noBodyRequestSpec)
+                given(noBodyRequestSpec())
                         .header("Authorization", "Bearer " + generateTokenResponse.getToken())
                         .when()
                         .delete("/Account/v1/User/" + registrationResponse.getUserId())
@@ -252,7 +258,7 @@ public class AccountTests extends BaseTest {
                         .body(emptyOrNullString())
         );
         step("Проверить, что ранее созданный пользователь не существует", () ->
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(new LoginRequestModel(userName, password))
                         .when()
                         .post("/Account/v1/Authorized")
@@ -275,12 +281,12 @@ public class AccountTests extends BaseTest {
                 RegistrationApi.generateToken(userName, password)
         );
         ErrorResponseModel errorResponse = step("Выполнить запрос на удаление с недействительным токеном", () ->
-                given(noBodyRequestSpec)
+                given(noBodyRequestSpec())
                         .header("Authorization", "Bearer " + data.getRandomString(170))
                         .when()
                         .delete("/Account/v1/User/" + registrationResponse.getUserId())
                         .then()
-                        .spec(getResponseSpecByStatusCode(401))
+                        .spec(getResponseSpecByStatusCode(401, ErrorResponseModel.class))
                         .extract().as(ErrorResponseModel.class)
         );
         step("Проверить значение атрибута code в ответе с ошибкой", () -> {
@@ -305,12 +311,12 @@ public class AccountTests extends BaseTest {
                 RegistrationApi.registerUser(userName, password)
         );
         GenerateTokenResponseModel generateTokenResponse = step("Выполнить запрос на генерацию токена", () ->
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(new LoginRequestModel(userName, password))
                         .when()
                         .post("/Account/v1/GenerateToken")
                         .then()
-                        .spec(getResponseSpecByStatusCode(200))
+                        .spec(getResponseSpecByStatusCode(200, GenerateTokenResponseModel.class))
                         .extract().as(GenerateTokenResponseModel.class)
         );
         step("Проверить, что в ответе присутствует атрибут token с непустым значением", () ->
@@ -337,12 +343,12 @@ public class AccountTests extends BaseTest {
     @DisplayName("Неуспешная генерация токена. В запросе отсутствуют имя или пароль")
     void unsuccessfulGenerationTokenEmptyUserNameOrPasswordTest(LoginRequestModel request) {
         ErrorResponseModel errorResponse = step("Выполнить запрос на генерацию токена", () ->
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(request)
                         .when()
                         .post("/Account/v1/GenerateToken")
                         .then()
-                        .spec(getResponseSpecByStatusCode(400))
+                        .spec(getResponseSpecByStatusCode(400, ErrorResponseModel.class))
                         .extract().as(ErrorResponseModel.class)
         );
         step("Проверить значение атрибута code в ответе с ошибкой", () -> {
@@ -364,12 +370,12 @@ public class AccountTests extends BaseTest {
                 RegistrationApi.registerUser(userName, password)
         );
         GenerateTokenResponseModel generateTokenResponse = step("Выполнить запрос на генерацию токена", () ->
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(new LoginRequestModel(data.getRandomString(10), password))
                         .when()
                         .post("/Account/v1/GenerateToken")
                         .then()
-                        .spec(getResponseSpecByStatusCode(200))
+                        .spec(getResponseSpecByStatusCode(200, GenerateTokenResponseModel.class))
                         .extract().as(GenerateTokenResponseModel.class)
         );
         step("Проверить, что в ответе отсутствует атрибут token", () ->
@@ -401,12 +407,12 @@ public class AccountTests extends BaseTest {
                 RegistrationApi.registerUser(userName, password)
         );
         GenerateTokenResponseModel generateTokenResponse = step("Выполнить запрос на генерацию токена", () ->
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(new LoginRequestModel(userName, data.getRandomString(10)))
                         .when()
                         .post("/Account/v1/GenerateToken")
                         .then()
-                        .spec(getResponseSpecByStatusCode(200))
+                        .spec(getResponseSpecByStatusCode(200, GenerateTokenResponseModel.class))
                         .extract().as(GenerateTokenResponseModel.class)
         );
         step("Проверить, что в ответе отсутствует атрибут token", () ->
@@ -441,12 +447,12 @@ public class AccountTests extends BaseTest {
                 RegistrationApi.generateToken(userName, password)
         );
         LoginResponseModel loginResponse = step("Выполнить запрос на авторизацию", () ->
-                given(withBodyRequestSpec)
+                given(withBodyRequestSpec())
                         .body(new LoginRequestModel(userName, password))
                         .when()
                         .post("/Account/v1/Login")
                         .then()
-                        .spec(getResponseSpecByStatusCode(200))
+                        .spec(getResponseSpecByStatusCode(200, LoginResponseModel.class))
                         .extract().as(LoginResponseModel.class)
         );
         step("Проверить, что в ответе присутствует атрибут userID и он равен id созданного пользователя", () ->
@@ -471,4 +477,84 @@ public class AccountTests extends BaseTest {
                 RegistrationApi.deleteUser(registrationResponse.getUserId(), loginResponse.getToken())
         );
     }
-}
\ No newline at end of file
+
+    @Tag("POSITIVE")
+    @Story("Асинхронный клиент")
+    @Test
+    @DisplayName("Асинхронный клиент. Создание пользователя, добавление и удаление книг, удаление пользователя")
+    void asyncClientUserWithBooksTest() {
+        String userName = data.getUserName();
+        String password = data.getPassword();
+        RegistrationResponseModel registrationResponse = step("Создать нового пользователя", () ->
+                join(AsyncRegistrationApi.registerUser(userName, password))
+        );
+        String userId = registrationResponse.getUserId();
+        String token = step("Сгенерировать для пользователя токен доступа", () ->
+                join(AsyncRegistrationApi.generateToken(userName, password)).getToken()
+        );
+        BookModel book = step("Получить первую книгу из каталога", () ->
+                join(AsyncBooksApi.getAllBooks()).getBooks().get(0)
+        );
+        step("Добавить книгу в профиль пользователя", () ->
+                join(AsyncBooksApi.addBooks(userId, token, List.of(new IsbnModel(book.getIsbn()))))
+        );
+        step("Проверить, что в профиле пользователя есть только добавленная книга", () ->
+                assertThat(join(AsyncBooksApi.getUserBooks(userId, token)))
+                        .extracting(BookModel::getIsbn)
+                        .containsExactly(book.getIsbn())
+        );
+        step("Удалить все книги из профиля пользователя", () ->
+                join(AsyncBooksApi.deleteAllBooks(userId, token))
+        );
+        step("Проверить, что профиль пользователя не содержит книг", () ->
+                assertThat(join(AsyncBooksApi.getUserBooks(userId, token))).isEmpty()
+        );
+        step("Удалить созданного пользователя", () ->
+                join(AsyncRegistrationApi.deleteUser(userId, userName, password, token))
+        );
+    }
+
+    @Tag("NEGATIVE")
+    @Story("Асинхронный клиент")
+    @Test
+    @DisplayName("Асинхронный клиент. Удаление пользователя по чужому userId завершается ошибкой")
+    void asyncClientDeleteUserWithWrongUserIdTest() {
+        String userName = data.getUserName();
+        String password = data.getPassword();
+        String userId = step("Создать нового пользователя", () ->
+                join(AsyncRegistrationApi.registerUser(userName, password)).getUserId()
+        );
+        String token = step("Сгенерировать для пользователя токен доступа", () ->
+                join(AsyncRegistrationApi.generateToken(userName, password)).getToken()
+        );
+        step("Проверить, что удаление с токеном пользователя и чужим userId завершается ошибкой", () ->
+                assertThatThrownBy(() -> join(AsyncRegistrationApi.deleteUser(data.getRandomUUID(), userName, password, token)))
+                        .isInstanceOf(HttpStatusException.class)
+                        .hasMessageContaining("1207")
+        );
+        step("Удалить созданного пользователя", () ->
+                join(AsyncRegistrationApi.deleteUser(userId, userName, password, token))
+        );
+    }
+
+    @Tag("POSITIVE")
+    @Story("Асинхронный клиент")
+    @Test
+    @DisplayName("Асинхронный клиент. Повторное удаление уже удаленного пользователя считается выполненным")
+    void asyncClientRepeatedDeleteUserTest() {
+        String userName = data.getUserName();
+        String password = data.getPassword();
+        String userId = step("Создать нового пользователя", () ->
+                join(AsyncRegistrationApi.registerUser(userName, password)).getUserId()
+        );
+        String token = step("Сгенерировать для пользователя токен доступа", () ->
+                join(AsyncRegistrationApi.generateToken(userName, password)).getToken()
+        );
+        step("Удалить созданного пользователя", () ->
+                join(AsyncRegistrationApi.deleteUser(userId, userName, password, token))
+        );
+        step("Повторно удалить пользователя", () ->
+                join(AsyncRegistrationApi.deleteUser(userId, userName, password, token))
+        );
+    }
+}
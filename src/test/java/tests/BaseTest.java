@@ -1,12 +1,13 @@
 package tests;
 
-import io.restassured.RestAssured;
-import org.junit.jupiter.api.BeforeAll;
+import helpers.AllureAttachmentsExtension;
+import helpers.CassetteExtension;
+import helpers.FailedTestLogExtension;
+import helpers.LatencyReportExtension;
+import helpers.ShardExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
 
+@ExtendWith({LatencyReportExtension.class, FailedTestLogExtension.class, AllureAttachmentsExtension.class,
+        CassetteExtension.class, ShardExtension.class})
 public class BaseTest {
-
-    @BeforeAll
-    static void setConfig() {
-        RestAssured.baseURI = "https://demoqa.com";
-    }
 }
\ No newline at end of file
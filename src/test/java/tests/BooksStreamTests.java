@@ -0,0 +1,64 @@
+package tests;
+
+import api.BooksApi;
+import api.BooksStreamApi;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import models.BookModel;
+import models.BookTitleModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.qameta.allure.Allure.step;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// BooksStreamApi reads the socket directly, past the cassette, so these tests are not in the cassette replay
+@Feature("BookStore")
+public class BooksStreamTests extends BaseTest {
+
+    @Tag("POSITIVE")
+    @Story("Потоковое чтение каталога")
+    @Test
+    @DisplayName("Потоковое чтение каталога возвращает те же книги, что и обычный запрос")
+    void streamedCatalogMatchesCatalogTest() {
+        List<BookModel> books = step("Получить список книг обычным запросом", () ->
+                BooksApi.getAllBooks().getBooks()
+        );
+        List<BookModel> streamed = step("Прочитать каталог потоково", () -> {
+            List<BookModel> read = new ArrayList<>();
+            BooksStreamApi.forEachBook(read::add);
+            return read;
+        });
+        step("Проверить, что книги совпадают и идут в том же порядке", () ->
+                assertThat(streamed).isEqualTo(books)
+        );
+    }
+
+    @Tag("POSITIVE")
+    @Story("Потоковое чтение каталога")
+    @Test
+    @DisplayName("Потоковое чтение названий книг останавливается по требованию потребителя")
+    void streamedTitlesStopEarlyTest() {
+        List<BookModel> books = step("Получить список книг обычным запросом", () ->
+                BooksApi.getAllBooks().getBooks()
+        );
+        List<BookTitleModel> titles = step("Прочитать потоково только первые две книги", () -> {
+            List<BookTitleModel> read = new ArrayList<>();
+            BooksStreamApi.forEachBookTitle(title -> {
+                read.add(title);
+                return read.size() < 2;
+            });
+            return read;
+        });
+        step("Проверить, что прочитаны isbn и название первых двух книг", () -> {
+            assertThat(titles).extracting(BookTitleModel::getIsbn)
+                    .containsExactly(books.get(0).getIsbn(), books.get(1).getIsbn());
+            assertThat(titles).extracting(BookTitleModel::getTitle)
+                    .containsExactly(books.get(0).getTitle(), books.get(1).getTitle());
+        });
+    }
+}
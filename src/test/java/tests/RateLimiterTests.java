@@ -0,0 +1,65 @@
+package tests;
+
+import helpers.RateLimiter;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the bucket takes the clock as an argument, so its schedule is checked at fixed instants
+@Feature("RateLimiter")
+public class RateLimiterTests extends BaseTest {
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long START = 1_000_000_000L;
+
+    @Tag("POSITIVE")
+    @Story("Ограничение частоты запросов")
+    @Test
+    @DisplayName("Пачка из burst запросов проходит без ожидания, следующие ждут по интервалу")
+    void burstThenIntervalTest() {
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(INTERVAL, 3, START);
+        assertThat(bucket.reserve(START)).isZero();
+        assertThat(bucket.reserve(START)).isZero();
+        assertThat(bucket.reserve(START)).isZero();
+        assertThat(bucket.reserve(START)).isEqualTo(INTERVAL);
+        assertThat(bucket.reserve(START)).isEqualTo(2 * INTERVAL);
+    }
+
+    @Tag("POSITIVE")
+    @Story("Ограничение частоты запросов")
+    @Test
+    @DisplayName("Запросы в темпе лимита не ждут, а более частые ждут так, чтобы темп не превышался")
+    void steadyRateTest() {
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(INTERVAL, 3, START);
+        for (int i = 0; i < 100; i++) {
+            assertThat(bucket.reserve(START + i * INTERVAL)).isZero();
+        }
+        long now = START + 100 * INTERVAL;
+        long lastDue = 0;
+        for (int i = 0; i < 50; i++) {
+            long due = now + i * INTERVAL / 2 + bucket.reserve(now + i * INTERVAL / 2);
+            assertThat(due).isGreaterThanOrEqualTo(lastDue);
+            lastDue = due;
+        }
+        // 50 requests sent at twice the rate: the burst goes through at once, the rest at one per interval
+        assertThat(lastDue - now).isEqualTo((50 - 3) * INTERVAL);
+    }
+
+    @Tag("POSITIVE")
+    @Story("Ограничение частоты запросов")
+    @Test
+    @DisplayName("После простоя накопленный запас не превышает burst")
+    void idleDoesNotAccumulateBeyondBurstTest() {
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(INTERVAL, 3, START);
+        long later = START + TimeUnit.SECONDS.toNanos(60);
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.reserve(later)).isZero();
+        }
+        assertThat(bucket.reserve(later)).isEqualTo(INTERVAL);
+    }
+}
@@ -0,0 +1,42 @@
+package tests;
+
+import api.BooksApi;
+import helpers.ResilienceFilter;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import models.BooksModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static io.qameta.allure.Allure.step;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// run by the resilienceCheck task against the emulator with fault injection, skipped without it
+@Feature("Resilience")
+public class ResilienceTests extends BaseTest {
+    private static final double FAULT_RATE = Double.parseDouble(System.getProperty("emulator.faults.rate", "0"))
+            + Double.parseDouble(System.getProperty("emulator.faults.resetRate", "0"));
+    private static final int CALLS = 20;
+
+    @Tag("POSITIVE")
+    @Story("Повтор запросов")
+    @Test
+    @DisplayName("Запросы, на которые стенд ответил ошибкой или оборвал соединение, успешно повторяются")
+    void retriedRequestsSucceedTest() {
+        assumeTrue(Boolean.getBoolean("emulator") && FAULT_RATE > 0, "needs the emulator with emulator.faults.rate");
+        long retriesBefore = ResilienceFilter.getRetries();
+        for (int i = 0; i < CALLS; i++) {
+            BooksModel books = step("Получить список книг", () ->
+                    BooksApi.getAllBooks()
+            );
+            step("Проверить, что список книг не пустой", () ->
+                    assertThat(books.getBooks()).isNotEmpty()
+            );
+        }
+        step("Проверить, что часть запросов была повторена", () ->
+                assertThat(ResilienceFilter.getRetries()).isGreaterThan(retriesBefore)
+        );
+    }
+}
@@ -1,36 +1,100 @@
 package utils;
 
-import com.github.javafaker.Faker;
-
-import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
-import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
-
+// user names are "auto_user_" + run id + fork + stripe + counter: every thread draws from its own stripe,
+// so names stay unique without shared state. With -DtestData.seed (or an explicit seed) the run id and
+// every stripe's random sequence are derived from the seed, so a single-threaded sequence is reproducible.
+// Shards and Gradle test forks are separate JVMs started with the same seed, so the fork id is part of
+// both the name and the stripe seeds
 public class TestData {
-    private final Faker faker = new Faker(new Locale("en-GB"));
+    private static final Pattern UUID_PATTERN = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern DATE_TIME_PATTERN = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z$");
+    private static final char[] LOWER = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final char[] UPPER = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final char[] DIGITS = "0123456789".toCharArray();
+    private static final char[] SPECIAL = "!@#$%^&*".toCharArray();
+    private static final char[] ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+    // shared by all instances, so two TestData objects built from the same seed still hand out distinct names
+    private static final AtomicInteger STRIPES = new AtomicInteger();
+    private static final String FORK = "s" + Integer.getInteger("shard.index", 0) + "w" + System.getProperty("org.gradle.test.worker", "0");
+
+    private final long seed;
+    private final String userNamePrefix;
+    private final ThreadLocal<Stripe> stripe = ThreadLocal.withInitial(this::newStripe);
+
+    public TestData() {
+        this(Long.getLong("testData.seed", ThreadLocalRandom.current().nextLong()));
+    }
+
+    public TestData(long seed) {
+        this.seed = seed + 0xC2B2AE3D27D4EB4FL * FORK.hashCode();
+        this.userNamePrefix = "auto_user_" + Long.toString(new SplittableRandom(seed).nextLong() & 0xFFFFFFFFFFL, 36) + "_" + FORK + "_";
+    }
 
     public String getUserName() {
-        return faker.regexify("auto_user_\\d{1,}");
+        Stripe current = stripe.get();
+        return new StringBuilder(userNamePrefix.length() + 16)
+                .append(userNamePrefix)
+                .append(current.id)
+                .append('_')
+                .append(current.counter++)
+                .toString();
     }
 
     public String getPassword() {
-        return faker.regexify("[a-z]{6}\\d[A-Z][!@#$%^&*]");
+        SplittableRandom random = stripe.get().random;
+        char[] password = new char[9];
+        for (int i = 0; i < 6; i++) {
+            password[i] = LOWER[random.nextInt(LOWER.length)];
+        }
+        password[6] = DIGITS[random.nextInt(DIGITS.length)];
+        password[7] = UPPER[random.nextInt(UPPER.length)];
+        password[8] = SPECIAL[random.nextInt(SPECIAL.length)];
+        return new String(password);
     }
 
     public String getRandomString(int length) {
-        return randomAlphanumeric(length);
+        SplittableRandom random = stripe.get().random;
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHANUMERIC[random.nextInt(ALPHANUMERIC.length)];
+        }
+        return new String(chars);
     }
 
     public String getRandomUUID() {
-        return faker.internet().uuid();
+        SplittableRandom random = stripe.get().random;
+        long mostSigBits = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
     }
 
     public Pattern getUUIDPattern() {
-        return Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+        return UUID_PATTERN;
     }
 
     public Pattern getDateTimePattern() {
-        return Pattern.compile("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z$");
+        return DATE_TIME_PATTERN;
+    }
+
+    private Stripe newStripe() {
+        int id = STRIPES.getAndIncrement();
+        return new Stripe(id, new SplittableRandom(seed + 0x9E3779B97F4A7C15L * (id + 1)));
+    }
+
+    private static class Stripe {
+        final int id;
+        final SplittableRandom random;
+        long counter;
+
+        Stripe(int id, SplittableRandom random) {
+            this.id = id;
+            this.random = random;
+        }
     }
 }
\ No newline at end of file
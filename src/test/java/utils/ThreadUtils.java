@@ -0,0 +1,34 @@
+package utils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ThreadUtils {
+    public static ExecutorService newVirtualThreadExecutor() {
+        ExecutorService executor = virtualThreadPerTaskExecutor();
+        return executor != null ? executor : Executors.newCachedThreadPool();
+    }
+
+    // unlike a pool, every task gets a new thread, so it inherits the inheritable thread locals
+    // of the thread that submitted it at the moment of submission
+    public static Executor newThreadPerTaskExecutor(String name) {
+        ExecutorService executor = virtualThreadPerTaskExecutor();
+        if (executor != null) {
+            return executor;
+        }
+        return task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
+    private static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file